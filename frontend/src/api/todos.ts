@@ -1,14 +1,29 @@
 import client from './client';
-import type { IdDTO, Todo } from '../types';
+import type { IdDTO, Todo, TodoBatchResult, TodoPage, TodoQuery } from '../types';
 
 export const getTodos = () =>
   client.get<Todo[]>('/todos').then((r) => r.data);
 
+// Keyset-paginated listing; pass the returned nextCursor back to fetch the following page.
+export const getTodosPage = (query: TodoQuery) =>
+  client.get<Todo[]>('/todos', { params: query }).then(
+    (r): TodoPage => ({ items: r.data, nextCursor: r.headers['x-next-cursor'] ?? null })
+  );
+
 export const createTodo = (todo: Omit<Todo, 'id'>) =>
   client.post<Todo>('/todo/create', todo).then((r) => r.data);
 
+// Sends the known version as If-Match so a concurrent edit yields 412 instead of being overwritten.
 export const updateTodo = (todo: Todo) =>
-  client.put<Todo>('/todo/update', todo).then((r) => r.data);
+  client
+    .put<Todo>('/todo/update', todo, {
+      headers: todo.version !== undefined ? { 'If-Match': `"${todo.version}"` } : undefined,
+    })
+    .then((r) => r.data);
+
+// Todos without an id are created, todos with an id are updated; atomic rolls back on any failing item.
+export const batchTodos = (items: Todo[], atomic = false) =>
+  client.post<TodoBatchResult[]>('/todos/batch', { atomic, items }).then((r) => r.data);
 
 export const deleteTodos = (ids: number[]) =>
   client.delete<Todo[]>('/todo/delete', { data: { ids } as IdDTO }).then((r) => r.data);
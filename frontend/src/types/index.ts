@@ -4,6 +4,28 @@ export interface Todo {
   dueDate: string; // ISO date string: YYYY-MM-DD
   checkMark: boolean;
   completionDate?: string;
+  version?: number;
+}
+
+export interface TodoQuery {
+  limit?: number;
+  cursor?: string;
+  checkMark?: boolean;
+  dueFrom?: string;
+  dueTo?: string;
+  overdue?: boolean;
+}
+
+export interface TodoPage {
+  items: Todo[];
+  nextCursor: string | null;
+}
+
+export interface TodoBatchResult {
+  index: number;
+  status: 'CREATED' | 'UPDATED' | 'FAILED';
+  todo: Todo;
+  error?: string;
 }
 
 export interface IdDTO {
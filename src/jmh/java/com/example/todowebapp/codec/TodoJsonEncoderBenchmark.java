@@ -0,0 +1,76 @@
+package com.example.todowebapp.codec;
+
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.dto.TodoSerializationBenchmark;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a todo list into pooled Netty buffers, as the server does, with Jackson and with
+ * {@link TodoJsonEncoder}. Run with {@code -prof gc} and divide {@code gc.alloc.rate.norm} by the size
+ * for bytes allocated per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 15, time = 1)
+@Fork(5)
+public class TodoJsonEncoderBenchmark {
+
+    private static final ResolvableType TODO_LIST = ResolvableType.forClassWithGenerics(List.class, TodoDTO.class);
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private Jackson2JsonEncoder jackson;
+    private TodoJsonEncoder specialized;
+    private List<TodoDTO> todos;
+
+    @Setup
+    public void setUp() {
+        jackson = new Jackson2JsonEncoder(Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        specialized = new TodoJsonEncoder();
+        todos = TodoSerializationBenchmark.todos(size);
+    }
+
+    @Benchmark
+    public int jackson() {
+        return release(jackson.encodeValue(todos, bufferFactory, TODO_LIST, MediaType.APPLICATION_JSON, null));
+    }
+
+    @Benchmark
+    public int specialized() {
+        return release(specialized.encodeValue(todos, bufferFactory, TODO_LIST, MediaType.APPLICATION_JSON, null));
+    }
+
+    private static int release(DataBuffer buffer) {
+        final int bytes = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+}
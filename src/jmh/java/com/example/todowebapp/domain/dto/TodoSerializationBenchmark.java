@@ -0,0 +1,67 @@
+package com.example.todowebapp.domain.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link TodoDTO} lists with the same mapper defaults Spring Boot applies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 15, time = 1)
+@Fork(5)
+public class TodoSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<TodoDTO> todos;
+
+    @Setup
+    public void setUp() {
+        final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, TodoDTO.class));
+        todos = todos(size);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return writer.writeValueAsBytes(todos);
+    }
+
+    public static List<TodoDTO> todos(int size) {
+        final LocalDate start = LocalDate.of(2026, 1, 1);
+        final List<TodoDTO> todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            todos.add(TodoDTO.builder()
+                    .id((long) i + 1)
+                    .description("Benchmark task number " + i)
+                    .dueDate(start.plusDays(i % 365))
+                    .checkMark(i % 3 == 0)
+                    .completionDate(i % 3 == 0 ? start.plusDays(i % 365) : null)
+                    .version((long) (i % 5))
+                    .build());
+        }
+        return todos;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.todowebapp.security;
+
+import com.example.todowebapp.domain.enumerated.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an {@link AuthenticationUserDetails} from privilege names, with the catalog's shared authorities
+ * and with a fresh {@link SimpleGrantedAuthority} per name as the principal loader used to do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 15, time = 1)
+@Fork(5)
+public class PrincipalBenchmark {
+
+    private final String[] privileges = {"CREATE_TODOS", "DELETE_TODOS", "UPDATE_TODOS", "VIEW_TODOS"};
+
+    @Benchmark
+    public AuthenticationUserDetails sharedAuthorities() {
+        final List<GrantedAuthority> authorities = new ArrayList<>(privileges.length);
+        for (String privilege : privileges) {
+            authorities.add(RolePrivilegeCatalog.authority(privilege));
+        }
+        return build(authorities);
+    }
+
+    @Benchmark
+    public AuthenticationUserDetails freshAuthorities() {
+        final List<GrantedAuthority> authorities = new ArrayList<>(privileges.length);
+        for (String privilege : privileges) {
+            authorities.add(new SimpleGrantedAuthority(privilege));
+        }
+        return build(authorities);
+    }
+
+    private static AuthenticationUserDetails build(List<GrantedAuthority> authorities) {
+        return AuthenticationUserDetails.authBuilder()
+                .userId(42L)
+                .username("benchmark@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .userRole(UserRole.ROLE_BASIC_USER)
+                .authorities(authorities)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.todowebapp.security;
+
+import com.example.todowebapp.metrics.StageMetrics;
+import com.example.todowebapp.service.TokenVersionService;
+import com.example.todowebapp.service.impl.JwtServiceBenchmark;
+import com.example.todowebapp.service.impl.JwtServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link CustomSecurityFilter} with the user details and token version lookups stubbed,
+ * so only token verification, principal resolution and context propagation are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 15, time = 1)
+@Fork(5)
+public class SecurityFilterBenchmark {
+
+    private CustomSecurityFilter statefulFilter;
+    private CustomSecurityFilter statelessFilter;
+    private String authorization;
+    private final WebFilterChain chain = exchange -> ReactiveSecurityContextHolder.getContext().then();
+
+    @Setup
+    public void setUp() {
+        final JwtServiceImpl jwtService = JwtServiceBenchmark.newJwtService();
+        final AuthenticationUserDetails principal = JwtServiceBenchmark.principal();
+        final ReactiveUserDetailsService userDetailsService = username -> Mono.just(principal);
+        final TokenVersionService tokenVersionService = new TokenVersionService() {
+            @Override
+            public Mono<Long> currentVersion(Long userId) {
+                return Mono.just(0L);
+            }
+
+            @Override
+            public Mono<Void> revokeTokens(Long userId) {
+                return Mono.empty();
+            }
+        };
+        final StageMetrics stageMetrics = new StageMetrics(new SimpleMeterRegistry());
+        statefulFilter = new CustomSecurityFilter(jwtService, userDetailsService, tokenVersionService, stageMetrics, false);
+        statelessFilter = new CustomSecurityFilter(jwtService, userDetailsService, tokenVersionService, stageMetrics, true);
+        authorization = "Bearer " + jwtService.generateToken(principal);
+    }
+
+    @Benchmark
+    public Void anonymous() {
+        return statefulFilter.filter(exchange(null), chain).block();
+    }
+
+    @Benchmark
+    public Void authenticated() {
+        return statefulFilter.filter(exchange(authorization), chain).block();
+    }
+
+    @Benchmark
+    public Void authenticatedStateless() {
+        return statelessFilter.filter(exchange(authorization), chain).block();
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        final MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/todos");
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
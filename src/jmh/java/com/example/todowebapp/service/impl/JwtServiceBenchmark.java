@@ -0,0 +1,88 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.domain.enumerated.UserPrivilege;
+import com.example.todowebapp.domain.enumerated.UserRole;
+import com.example.todowebapp.security.AuthenticationUserDetails;
+import com.example.todowebapp.security.RolePrivilegeCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token minting, cached verification and full signature verification in {@link JwtServiceImpl}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 15, time = 1)
+@Fork(5)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "dG9kby13ZWJhcHAtdGVzdC1zZWNyZXQta2V5LWZvci1oczI1Ni1zaWduaW5n";
+
+    private JwtServiceImpl jwtService;
+    private AuthenticationUserDetails principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = newJwtService();
+        principal = principal();
+        token = jwtService.generateToken(principal);
+        jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(principal);
+    }
+
+    @Benchmark
+    public Optional<?> verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public Object parseSigned() {
+        return jwtService.getAllInfoFromToken(token);
+    }
+
+    public static JwtServiceImpl newJwtService() {
+        final JwtServiceImpl service = new JwtServiceImpl(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "expirationTime", 3_600_000);
+        ReflectionTestUtils.setField(service, "verifiedCacheMaximumSize", 10_000L);
+        ReflectionTestUtils.setField(service, "verifiedCacheTtl", Duration.ofMinutes(5));
+        service.init();
+        return service;
+    }
+
+    public static AuthenticationUserDetails principal() {
+        return AuthenticationUserDetails.authBuilder()
+                .userId(42L)
+                .username("benchmark@example.com")
+                .password("")
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .userRole(UserRole.ROLE_BASIC_USER)
+                .authorities(Arrays.stream(UserPrivilege.values()).map(RolePrivilegeCatalog::authority).toList())
+                .build();
+    }
+}
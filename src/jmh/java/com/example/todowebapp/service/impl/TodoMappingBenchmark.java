@@ -0,0 +1,64 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.entity.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a todo list through {@link TodoServiceImpl#toDto}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 15, time = 1)
+@Fork(5)
+public class TodoMappingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private List<Todo> todos;
+
+    @Setup
+    public void setUp() {
+        todos = todos(size);
+    }
+
+    @Benchmark
+    public List<TodoDTO> toDto() {
+        return todos.stream().map(TodoServiceImpl::toDto).toList();
+    }
+
+    public static List<Todo> todos(int size) {
+        final LocalDate start = LocalDate.of(2026, 1, 1);
+        final List<Todo> todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            todos.add(Todo.builder()
+                    .id((long) i + 1)
+                    .description("Benchmark task number " + i)
+                    .dueDate(start.plusDays(i % 365))
+                    .checkMark(i % 3 == 0)
+                    .completionDate(i % 3 == 0 ? start.plusDays(i % 365) : null)
+                    .userId(42L)
+                    .version((long) (i % 5))
+                    .build());
+        }
+        return todos;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.domain.dao.TodoDao;
+import com.example.todowebapp.domain.dao.TodoDaoImpl;
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.dto.TodoQuery;
+import com.example.todowebapp.repository.TodoRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a user's todo list from an in-memory H2 database through the Spring Data repository plus
+ * {@link TodoServiceImpl#toDto}, against the {@link TodoDao} projection straight into {@link TodoDTO}.
+ * Run with {@code -prof gc} to compare the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 15, time = 1)
+@Fork(5)
+public class TodoReadPathBenchmark {
+
+    private static final TodoQuery UNFILTERED = TodoQuery.builder().build();
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private TodoRepository repository;
+    private TodoDao dao;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        final ConnectionFactory connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///readpath" + size + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"))
+                .populate(connectionFactory)
+                .block();
+        final DatabaseClient client = DatabaseClient.create(connectionFactory);
+
+        client.sql("""
+                INSERT INTO users (email, password, name, last_name, role_id, is_system)
+                VALUES ('benchmark@example.com', 'secret', 'Bench', 'Mark', 1, FALSE)
+                """).then().block();
+        userId = client.sql("SELECT id FROM users WHERE email = 'benchmark@example.com'")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        client.sql("""
+                INSERT INTO todos (description, due_date, check_mark, completion_date, user_id)
+                SELECT 'Benchmark task number ' || x, DATEADD('DAY', MOD(x, 365), DATE '2026-01-01'), MOD(x, 3) = 0,
+                       CASE WHEN MOD(x, 3) = 0 THEN DATE '2026-01-01' END, %d
+                FROM SYSTEM_RANGE(1, %d)
+                """.formatted(userId, size)).then().block();
+
+        repository = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(connectionFactory))
+                .getRepository(TodoRepository.class);
+        dao = new TodoDaoImpl(client);
+    }
+
+    @Benchmark
+    public List<TodoDTO> entityThenDto() {
+        return repository.findAllByUserId(userId)
+                .map(TodoServiceImpl::toDto)
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<TodoDTO> rowToDto() {
+        return dao.findPage(userId, UNFILTERED, 0)
+                .collectList()
+                .block();
+    }
+}
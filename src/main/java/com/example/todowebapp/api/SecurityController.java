@@ -6,6 +6,7 @@ import com.example.todowebapp.domain.dto.RegisterData;
 import com.example.todowebapp.domain.dto.UserDTO;
 import com.example.todowebapp.security.AuthenticationUserDetails;
 import com.example.todowebapp.service.SecureBasicAuthenticationService;
+import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -36,4 +37,11 @@ public class SecurityController {
     public Mono<LoginResponseDTO> login(@RequestBody @Valid Mono<LoginData> body) {
         return body.flatMap(secureBasicAuthenticationService::login);
     }
+
+    @Operation(description = "Revoke every token issued to the current user so far; later requests with them get 401")
+    @PostMapping("/tokens/revoke")
+    public Mono<ResponseEntity<Void>> revokeTokens(@AuthenticationPrincipal AuthenticationUserDetails principal) {
+        return secureBasicAuthenticationService.revokeTokens(principal)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
 }
@@ -1,49 +1,167 @@
 package com.example.todowebapp.api;
 
 import com.example.todowebapp.domain.dto.IdDTO;
+import com.example.todowebapp.domain.dto.TodoBatchRequestDTO;
+import com.example.todowebapp.domain.dto.TodoBatchResultDTO;
+import com.example.todowebapp.domain.dto.TodoChangeEventDTO;
+import com.example.todowebapp.domain.dto.TodoChangesDTO;
 import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.dto.TodoQuery;
 import com.example.todowebapp.domain.enumerated.UserPrivilege;
+import com.example.todowebapp.exceptions.ErrorCode;
+import com.example.todowebapp.exceptions.PreconditionFailedException;
 import com.example.todowebapp.security.AuthenticationUserDetails;
+import com.example.todowebapp.service.TodoEventService;
 import com.example.todowebapp.service.TodoService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
 @Validated
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class TodoController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    // lets browsers keep the listing but revalidate it with If-None-Match on every use
+    private static final CacheControl LIST_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final TodoService todoService;
+    private final TodoEventService todoEventService;
+
+    @PreAuthorize(UserPrivilege.Authority.VIEW_TODOS)
+    @GetMapping(value = "/todos", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(description = "Retrieve related todo task(s); pass limit to page, the next cursor comes back in X-Next-Cursor. "
+            + "Send the ETag back in If-None-Match to get 304 when nothing changed")
+    public Mono<ResponseEntity<List<TodoDTO>>> getTodos(
+            @RequestParam(required = false) @Min(1) @Max(TodoQuery.MAX_LIMIT) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean checkMark,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) Boolean overdue,
+            @AuthenticationPrincipal AuthenticationUserDetails principal,
+            ServerWebExchange exchange) {
+        final TodoQuery query = TodoQuery.builder()
+                .limit(limit)
+                .cursor(cursor)
+                .checkMark(checkMark)
+                .dueFrom(dueFrom)
+                .dueTo(dueTo)
+                .overdue(overdue)
+                .build();
+        // the version is read before the rows, so a concurrent write can only make the ETag older than the body
+        return todoService.getTodosVersion(principal)
+                .flatMap(version -> {
+                    final String etag = listETag(version, query);
+                    if (exchange.checkNotModified(etag)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag)
+                                .cacheControl(LIST_CACHE_CONTROL)
+                                .<List<TodoDTO>>build());
+                    }
+                    return todoService.getTodos(principal, query)
+                            .map(page -> {
+                                final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                                        .eTag(etag)
+                                        .cacheControl(LIST_CACHE_CONTROL);
+                                if (page.getNextCursor() != null) {
+                                    response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+                                }
+                                return response.body(page.getItems());
+                            });
+                });
+    }
 
     @PreAuthorize(UserPrivilege.Authority.VIEW_TODOS)
-    @GetMapping("/todos")
-    @Operation(description = "Retrieve related todo task(s)")
-    public Flux<TodoDTO> getTodos(@AuthenticationPrincipal AuthenticationUserDetails principal) {
-        return todoService.getTodos(principal);
+    @GetMapping(value = "/todos", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(description = "Stream related todo task(s) as NDJSON or server-sent events, one row at a time; "
+            + "limit is at most " + TodoQuery.MAX_STREAM_LIMIT + ", omit it to stream the whole list")
+    public Flux<TodoDTO> streamTodos(
+            @RequestParam(required = false) @Min(1) @Max(TodoQuery.MAX_STREAM_LIMIT) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean checkMark,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) Boolean overdue,
+            @AuthenticationPrincipal AuthenticationUserDetails principal) {
+        final TodoQuery query = TodoQuery.builder()
+                .limit(limit)
+                .cursor(cursor)
+                .checkMark(checkMark)
+                .dueFrom(dueFrom)
+                .dueTo(dueTo)
+                .overdue(overdue)
+                .build();
+        return todoService.streamTodos(principal, query);
+    }
+
+    @PreAuthorize(UserPrivilege.Authority.VIEW_TODOS)
+    @GetMapping(value = "/todos/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(description = "Todo task(s) created or updated and ids deleted since the sync token, with the next token. "
+            + "Omit since for a full list; a reset response replaces the client's copy instead of patching it")
+    public Mono<TodoChangesDTO> getChanges(@RequestParam(required = false) String since,
+                                           @AuthenticationPrincipal AuthenticationUserDetails principal) {
+        return todoService.getChanges(principal, since);
+    }
+
+    @PreAuthorize(UserPrivilege.Authority.VIEW_TODOS)
+    @GetMapping(value = "/todos/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(description = "Server-sent events for every change of related todo task(s); reconnect with Last-Event-ID "
+            + "to resume, refetch the list on a RESYNC event")
+    public Flux<ServerSentEvent<TodoChangeEventDTO>> todoEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal AuthenticationUserDetails principal) {
+        return todoEventService.subscribe(principal.getUserId(), lastEventId);
     }
 
     @PreAuthorize(UserPrivilege.Authority.CREATE_TODOS)
     @PostMapping("/todo/create")
     @Operation(description = "Create todo task")
-    public Mono<TodoDTO> createTodo(@RequestBody @Valid Mono<TodoDTO> body,
-                                    @AuthenticationPrincipal AuthenticationUserDetails principal) {
-        return body.flatMap(dto -> todoService.createTodo(dto, principal));
+    public Mono<ResponseEntity<TodoDTO>> createTodo(@RequestBody @Valid Mono<TodoDTO> body,
+                                                    @AuthenticationPrincipal AuthenticationUserDetails principal) {
+        return body.flatMap(dto -> todoService.createTodo(dto, principal))
+                .map(TodoController::withETag);
     }
 
     @PreAuthorize(UserPrivilege.Authority.UPDATE_TODOS)
     @PutMapping("/todo/update")
-    @Operation(description = "Update todo task")
-    public Mono<TodoDTO> updateTodo(@RequestBody @Valid Mono<TodoDTO> body,
-                                    @AuthenticationPrincipal AuthenticationUserDetails principal) {
-        return body.flatMap(dto -> todoService.updateTodo(dto, principal));
+    @Operation(description = "Update todo task; send the ETag back in If-Match to get 412 instead of overwriting a newer edit")
+    public Mono<ResponseEntity<TodoDTO>> updateTodo(@RequestBody @Valid Mono<TodoDTO> body,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @AuthenticationPrincipal AuthenticationUserDetails principal) {
+        final Long expectedVersion = parseVersion(ifMatch);
+        return body.flatMap(dto -> todoService.updateTodo(dto, expectedVersion, principal))
+                .map(TodoController::withETag);
+    }
+
+    @PreAuthorize(UserPrivilege.Authority.CREATE_TODOS + " and " + UserPrivilege.Authority.UPDATE_TODOS)
+    @PostMapping("/todos/batch")
+    @Operation(description = "Create (no id) and update (with id) todo tasks in one transaction with per-item results")
+    public Mono<List<TodoBatchResultDTO>> batchTodos(@RequestBody @Valid Mono<TodoBatchRequestDTO> body,
+                                                     @AuthenticationPrincipal AuthenticationUserDetails principal) {
+        return body.flatMap(request -> todoService.batchTodos(request, principal));
     }
 
     @PreAuthorize(UserPrivilege.Authority.DELETE_TODOS)
@@ -53,4 +171,51 @@ public class TodoController {
                                      @AuthenticationPrincipal AuthenticationUserDetails userDetails) {
         return body.flatMapMany(dto -> todoService.deleteTodos(dto.getIds(), userDetails));
     }
+
+    /**
+     * Weak ETag of a listing: the user's todo list version, plus today's date when the overdue filter makes
+     * the result depend on the calendar. Different query strings are different URLs, so they need no part here.
+     */
+    private static String listETag(long version, TodoQuery query) {
+        final String tag = Boolean.TRUE.equals(query.getOverdue()) ? version + "-" + LocalDate.now() : String.valueOf(version);
+        return "W/\"" + tag + "\"";
+    }
+
+    private static ResponseEntity<TodoDTO> withETag(TodoDTO todo) {
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (todo.getVersion() != null) {
+            response.eTag(String.valueOf(todo.getVersion()));
+        }
+        return response.body(todo);
+    }
+
+    /**
+     * Version from If-Match, compared strongly (RFC 9110 13.1.1): weak tags such as {@code W/"3"} never match, so
+     * an If-Match of weak tags only fails the precondition. One strong tag, {@code "3"} or bare {@code 3}, is
+     * accepted; a list of several is refused. {@code *} and absent mean no precondition.
+     */
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        final List<String> strong = Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty() && !tag.startsWith("W/"))
+                .toList();
+        if (strong.isEmpty()) {
+            throw new PreconditionFailedException(ErrorCode.WEAK_IF_MATCH, null);
+        }
+        if (strong.size() > 1) {
+            throw new IllegalArgumentException("If-Match must carry a single todo version ETag, not a list");
+        }
+        String value = strong.get(0);
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must carry a todo version ETag");
+        }
+    }
 }
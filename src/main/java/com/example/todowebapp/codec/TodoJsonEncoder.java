@@ -0,0 +1,302 @@
+package com.example.todowebapp.codec;
+
+import com.example.todowebapp.domain.dto.TodoDTO;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON encoder for {@link TodoDTO} values, lists and streams that writes straight into the response's
+ * (pooled) buffers: fixed field names are pre-encoded, numbers and dates are formatted in place and
+ * strings without escapes are copied as UTF-8 in one call. The output is byte-identical to Spring Boot's
+ * Jackson defaults, down to Jackson writing every UTF-16 surrogate as a hex escape.
+ */
+public class TodoJsonEncoder implements HttpMessageEncoder<Object> {
+
+    private static final List<MimeType> MIME_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON);
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = List.of(MediaType.APPLICATION_NDJSON);
+
+    private static final byte[] ID = ascii("{\"id\":");
+    private static final byte[] DESCRIPTION = ascii(",\"description\":");
+    private static final byte[] DUE_DATE = ascii(",\"dueDate\":");
+    private static final byte[] CHECK_MARK = ascii(",\"checkMark\":");
+    private static final byte[] COMPLETION_DATE = ascii(",\"completionDate\":");
+    private static final byte[] VERSION = ascii(",\"version\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+    private static final byte[] EMPTY_ARRAY = ascii("[]");
+    // field names, punctuation, two dates and two longs at their widest; the description comes on top
+    private static final int FIXED_SIZE = 160;
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        return supportsMimeType(mimeType) && (isTodo(elementType) || isTodoCollection(elementType));
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, @Nullable MimeType mimeType,
+                                   @Nullable Map<String, Object> hints) {
+        if (inputStream instanceof Mono<?> mono) {
+            return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+        }
+        if (isStreaming(mimeType)) {
+            return Flux.from(inputStream).map(value -> {
+                final DataBuffer buffer = encodeValue(value, bufferFactory, elementType, mimeType, hints);
+                buffer.ensureWritable(1);
+                return buffer.write((byte) '\n');
+            });
+        }
+        // a JSON array, one buffer per element, like Jackson's encoder
+        return Flux.defer(() -> {
+            final boolean[] started = {false};
+            return Flux.from(inputStream)
+                    .map(value -> {
+                        final DataBuffer buffer = bufferFactory.allocateBuffer(estimate(value) + 1);
+                        buffer.write((byte) (started[0] ? ',' : '['));
+                        started[0] = true;
+                        return write(buffer, value);
+                    })
+                    .concatWith(Mono.fromSupplier(() -> started[0]
+                            ? bufferFactory.allocateBuffer(1).write((byte) ']')
+                            : bufferFactory.allocateBuffer(EMPTY_ARRAY.length).write(EMPTY_ARRAY)));
+        });
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        final DataBuffer buffer = bufferFactory.allocateBuffer(estimate(value));
+        return write(buffer, value);
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return MIME_TYPES;
+    }
+
+    @Override
+    public List<MediaType> getStreamingMediaTypes() {
+        return STREAMING_MEDIA_TYPES;
+    }
+
+    private static DataBuffer write(DataBuffer buffer, Object value) {
+        try {
+            if (value instanceof Collection<?> todos) {
+                writeArray(buffer, todos);
+            } else {
+                writeTodo(buffer, (TodoDTO) value);
+            }
+            return buffer;
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    private static void writeArray(DataBuffer buffer, Collection<?> todos) {
+        buffer.write((byte) '[');
+        boolean first = true;
+        for (Object todo : todos) {
+            if (!first) {
+                buffer.ensureWritable(1);
+                buffer.write((byte) ',');
+            }
+            first = false;
+            if (todo == null) {
+                buffer.ensureWritable(NULL.length);
+                buffer.write(NULL);
+            } else {
+                writeTodo(buffer, (TodoDTO) todo);
+            }
+        }
+        buffer.ensureWritable(1);
+        buffer.write((byte) ']');
+    }
+
+    static void writeTodo(DataBuffer buffer, TodoDTO todo) {
+        final String description = todo.getDescription();
+        buffer.ensureWritable(FIXED_SIZE + (description != null ? description.length() * 3 : 0));
+        buffer.write(ID);
+        writeLong(buffer, todo.getId());
+        buffer.write(DESCRIPTION);
+        writeString(buffer, description);
+        buffer.write(DUE_DATE);
+        writeDate(buffer, todo.getDueDate());
+        buffer.write(CHECK_MARK);
+        buffer.write(todo.isCheckMark() ? TRUE : FALSE);
+        buffer.write(COMPLETION_DATE);
+        writeDate(buffer, todo.getCompletionDate());
+        buffer.write(VERSION);
+        writeLong(buffer, todo.getVersion());
+        buffer.write((byte) '}');
+    }
+
+    private static void writeLong(DataBuffer buffer, @Nullable Long boxed) {
+        if (boxed == null) {
+            buffer.write(NULL);
+            return;
+        }
+        long value = boxed;
+        if (value == Long.MIN_VALUE) {
+            buffer.write(ascii(Long.toString(value)));
+            return;
+        }
+        if (value < 0) {
+            buffer.write((byte) '-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.write((byte) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    private static void writeDate(DataBuffer buffer, @Nullable LocalDate date) {
+        if (date == null) {
+            buffer.write(NULL);
+            return;
+        }
+        final int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            // ISO_LOCAL_DATE signs and widens such years; rare enough to take the allocating route
+            buffer.write((byte) '"').write(ascii(date.toString())).write((byte) '"');
+            return;
+        }
+        buffer.write((byte) '"');
+        writeDigits(buffer, year, 4);
+        buffer.write((byte) '-');
+        writeDigits(buffer, date.getMonthValue(), 2);
+        buffer.write((byte) '-');
+        writeDigits(buffer, date.getDayOfMonth(), 2);
+        buffer.write((byte) '"');
+    }
+
+    private static void writeDigits(DataBuffer buffer, int value, int width) {
+        for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            buffer.write((byte) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    private static void writeString(DataBuffer buffer, @Nullable String value) {
+        if (value == null) {
+            buffer.write(NULL);
+            return;
+        }
+        buffer.write((byte) '"');
+        if (needsEscaping(value)) {
+            writeEscaped(buffer, value);
+        } else {
+            buffer.write(value, StandardCharsets.UTF_8);
+        }
+        buffer.write((byte) '"');
+    }
+
+    private static boolean needsEscaping(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\' || Character.isSurrogate(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void writeEscaped(DataBuffer buffer, String value) {
+        buffer.ensureWritable(value.length() * 6);
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                writeAscii(buffer, c);
+            } else if (c < 0x800) {
+                buffer.write((byte) (0xC0 | (c >> 6)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                writeUnicodeEscape(buffer, c);
+            } else {
+                buffer.write((byte) (0xE0 | (c >> 12)));
+                buffer.write((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static void writeAscii(DataBuffer buffer, char c) {
+        switch (c) {
+            case '"' -> buffer.write((byte) '\\').write((byte) '"');
+            case '\\' -> buffer.write((byte) '\\').write((byte) '\\');
+            case '\b' -> buffer.write((byte) '\\').write((byte) 'b');
+            case '\t' -> buffer.write((byte) '\\').write((byte) 't');
+            case '\n' -> buffer.write((byte) '\\').write((byte) 'n');
+            case '\f' -> buffer.write((byte) '\\').write((byte) 'f');
+            case '\r' -> buffer.write((byte) '\\').write((byte) 'r');
+            default -> {
+                if (c < 0x20) {
+                    writeUnicodeEscape(buffer, c);
+                } else {
+                    buffer.write((byte) c);
+                }
+            }
+        }
+    }
+
+    private static void writeUnicodeEscape(DataBuffer buffer, char c) {
+        buffer.write((byte) '\\').write((byte) 'u')
+                .write(HEX[c >> 12]).write(HEX[(c >> 8) & 0xF]).write(HEX[(c >> 4) & 0xF]).write(HEX[c & 0xF]);
+    }
+
+    private static int estimate(Object value) {
+        if (value instanceof Collection<?> todos) {
+            return 2 + todos.size() * FIXED_SIZE;
+        }
+        return FIXED_SIZE;
+    }
+
+    private static boolean supportsMimeType(@Nullable MimeType mimeType) {
+        if (mimeType == null) {
+            return true;
+        }
+        for (MimeType supported : MIME_TYPES) {
+            if (supported.isCompatibleWith(mimeType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStreaming(@Nullable MimeType mimeType) {
+        return mimeType != null && STREAMING_MEDIA_TYPES.stream().anyMatch(streaming -> streaming.isCompatibleWith(mimeType));
+    }
+
+    private static boolean isTodo(ResolvableType type) {
+        return type.toClass() == TodoDTO.class;
+    }
+
+    private static boolean isTodoCollection(ResolvableType type) {
+        return Collection.class.isAssignableFrom(type.toClass()) && isTodo(type.asCollection().getGeneric(0));
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
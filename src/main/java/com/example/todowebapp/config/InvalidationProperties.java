@@ -0,0 +1,33 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "todo.invalidation")
+public class InvalidationProperties {
+    /**
+     * postgres (LISTEN/NOTIFY), in-memory (single JVM, tests) or none.
+     */
+    private String transport = "postgres";
+    private String channel = "todo_invalidation";
+    /**
+     * Events received within this window are merged before caches are touched.
+     */
+    private Duration coalesceWindow = Duration.ofMillis(50);
+    private int coalesceMaxEvents = 256;
+    private Duration reconnectMinBackoff = Duration.ofSeconds(1);
+    private Duration reconnectMaxBackoff = Duration.ofSeconds(30);
+    /**
+     * How often the listening connection notifies itself to prove it still receives.
+     */
+    private Duration livenessInterval = Duration.ofSeconds(30);
+    /**
+     * How much longer than the interval listening may stay silent before the connection is replaced.
+     */
+    private Duration livenessTimeout = Duration.ofSeconds(10);
+}
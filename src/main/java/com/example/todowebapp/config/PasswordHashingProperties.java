@@ -0,0 +1,22 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+    /**
+     * Threads dedicated to BCrypt; defaults to the number of available processors.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /**
+     * Hash requests allowed to wait for a thread before new ones are rejected with 503.
+     */
+    private int queueDepth = 64;
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,19 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "db.pool.shedding")
+public class PoolSheddingProperties {
+    private boolean enabled = true;
+    /**
+     * Callers waiting for a pooled connection above which new requests get 503 and readiness goes out of service.
+     */
+    private int pendingThreshold = 50;
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
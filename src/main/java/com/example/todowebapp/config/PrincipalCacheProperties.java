@@ -0,0 +1,16 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.principal-cache")
+public class PrincipalCacheProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofMinutes(5);
+    private long maximumSize = 10_000;
+}
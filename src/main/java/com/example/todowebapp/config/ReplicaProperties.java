@@ -0,0 +1,39 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "todo.datasource")
+public class ReplicaProperties {
+    /**
+     * Read replicas; when empty every query goes to {@code spring.r2dbc.url}.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+    /**
+     * How long reads of a user who just wrote stay on the primary; zero disables stickiness. Writes are tracked
+     * in memory per instance; marks reach the other instances through the invalidation bus, so with
+     * {@code todo.invalidation.transport=none} a user's next request on another instance may hit a lagging replica.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private long readYourWritesMaximumSize = 100_000;
+
+    @Data
+    public static class Replica {
+        private String url;
+        /**
+         * Defaults to {@code spring.r2dbc.username}.
+         */
+        private String username;
+        /**
+         * Defaults to {@code spring.r2dbc.password}.
+         */
+        private String password;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.stateless")
+public class StatelessAuthProperties {
+    /**
+     * Build the principal from verified JWT claims instead of loading it from the database.
+     */
+    private boolean enabled = false;
+    private Duration versionCacheTtl = Duration.ofSeconds(30);
+    private long versionCacheMaximumSize = 100_000;
+}
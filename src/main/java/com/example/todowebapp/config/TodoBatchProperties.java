@@ -0,0 +1,19 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "todo.batch")
+public class TodoBatchProperties {
+    /**
+     * Maximum number of ids bound into a single bulk DELETE; larger sets are split into several statements.
+     */
+    private int deleteChunkSize = 1000;
+    /**
+     * Upper bound on items accepted by a single create/update batch request.
+     */
+    private int maxItems = 500;
+}
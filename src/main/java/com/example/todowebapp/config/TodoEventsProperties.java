@@ -0,0 +1,22 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "todo.events")
+public class TodoEventsProperties {
+    /**
+     * Events held for a slow subscriber before the oldest are dropped.
+     */
+    private int subscriberBuffer = 256;
+    /**
+     * Recent events kept on this instance for Last-Event-ID resume.
+     */
+    private int replaySize = 1024;
+    private Duration heartbeat = Duration.ofSeconds(15);
+}
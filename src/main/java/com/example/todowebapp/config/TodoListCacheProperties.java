@@ -0,0 +1,20 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "todo.list-cache")
+public class TodoListCacheProperties {
+    private boolean enabled = true;
+    /**
+     * Upper bound on the estimated heap taken by cached lists.
+     */
+    private DataSize maximumWeight = DataSize.ofMegabytes(64);
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,18 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "todo.list-version")
+public class TodoListVersionProperties {
+    /**
+     * Local writes evict immediately; the TTL bounds staleness for writes made by other instances.
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+    private long cacheMaximumSize = 100_000;
+}
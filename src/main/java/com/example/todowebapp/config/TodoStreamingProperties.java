@@ -0,0 +1,15 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "todo.streaming")
+public class TodoStreamingProperties {
+    /**
+     * Rows fetched from the database cursor per round trip; also the demand requested downstream.
+     */
+    private int fetchSize = 256;
+}
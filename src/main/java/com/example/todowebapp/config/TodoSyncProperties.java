@@ -0,0 +1,18 @@
+package com.example.todowebapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "todo.sync")
+public class TodoSyncProperties {
+    /**
+     * How long deletions are remembered; a sync token older than this gets a full reset instead of a delta.
+     */
+    private Duration tombstoneRetention = Duration.ofDays(7);
+    private Duration compactionInterval = Duration.ofHours(1);
+}
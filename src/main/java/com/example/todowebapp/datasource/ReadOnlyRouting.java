@@ -0,0 +1,36 @@
+package com.example.todowebapp.datasource;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Marks a query as safe to serve from a read replica. Anything not marked goes to the primary,
+ * as does everything inside a transaction already bound to a primary connection.
+ * <p>
+ * The sticky key names whose writes the read has to observe: while {@link ReadYourWritesTracker}
+ * remembers a recent write under that key, the read stays on the primary.
+ */
+public final class ReadOnlyRouting {
+
+    static final String CONTEXT_KEY = ReadOnlyRouting.class.getName();
+    static final String NO_STICKY_KEY = "";
+
+    private ReadOnlyRouting() {
+    }
+
+    public static <T> Mono<T> readOnly(String stickyKey, Mono<T> source) {
+        return source.contextWrite(context -> context.put(CONTEXT_KEY, stickyKey != null ? stickyKey : NO_STICKY_KEY));
+    }
+
+    public static <T> Flux<T> readOnly(String stickyKey, Flux<T> source) {
+        return source.contextWrite(context -> context.put(CONTEXT_KEY, stickyKey != null ? stickyKey : NO_STICKY_KEY));
+    }
+
+    public static String userKey(Long userId) {
+        return "user:" + userId;
+    }
+
+    public static String emailKey(String email) {
+        return "email:" + email;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.todowebapp.datasource;
+
+import com.example.todowebapp.config.ReplicaProperties;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class ReadReplicaConfig {
+
+    /**
+     * Puts a {@link ReadWriteRoutingConnectionFactory} in front of the auto-configured (primary) connection factory
+     * when replicas are configured. Runs before the other post-processors so their wrappers end up outside it.
+     */
+    @Bean
+    static BeanPostProcessor readWriteRoutingPostProcessor(ObjectProvider<ReplicaProperties> replicaProperties,
+                                                           ObjectProvider<R2dbcProperties> r2dbcProperties,
+                                                           ObjectProvider<ReadYourWritesTracker> tracker) {
+        return new RoutingPostProcessor(replicaProperties, r2dbcProperties, tracker);
+    }
+
+    /**
+     * Same pool gauges Boot binds for the primary, tagged with the replica's name.
+     */
+    @Bean
+    MeterBinder replicaConnectionPoolMetrics(ObjectProvider<ConnectionFactory> connectionFactory) {
+        return registry -> {
+            final ReadWriteRoutingConnectionFactory routing =
+                    ReadWriteRoutingConnectionFactory.find(connectionFactory.getIfAvailable());
+            if (routing == null) {
+                return;
+            }
+            final List<ConnectionFactory> replicas = routing.getReplicas();
+            for (int i = 0; i < replicas.size(); i++) {
+                if (replicas.get(i) instanceof ConnectionPool pool) {
+                    new ConnectionPoolMetrics(pool, "replica-" + i, Tags.empty()).bindTo(registry);
+                }
+            }
+        };
+    }
+
+    private record RoutingPostProcessor(ObjectProvider<ReplicaProperties> replicaProperties,
+                                        ObjectProvider<R2dbcProperties> r2dbcProperties,
+                                        ObjectProvider<ReadYourWritesTracker> tracker)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof ConnectionFactory primary) || ReadWriteRoutingConnectionFactory.find(bean) != null) {
+                return bean;
+            }
+            final ReplicaProperties properties = replicaProperties.getObject();
+            if (properties.getReplicas().isEmpty()) {
+                return bean;
+            }
+            final R2dbcProperties r2dbc = r2dbcProperties.getObject();
+            final List<ConnectionFactory> replicas = new ArrayList<>();
+            for (ReplicaProperties.Replica replica : properties.getReplicas()) {
+                replicas.add(replica(replica, r2dbc));
+            }
+            return new ReadWriteRoutingConnectionFactory(primary, replicas, tracker.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        /**
+         * Replica pools take the primary's {@code spring.r2dbc.pool.*} settings.
+         */
+        private static ConnectionFactory replica(ReplicaProperties.Replica replica, R2dbcProperties r2dbc) {
+            final ConnectionFactory factory = ConnectionFactoryBuilder.withUrl(replica.getUrl())
+                    .username(StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : r2dbc.getUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword() : r2dbc.getPassword())
+                    .build();
+            final R2dbcProperties.Pool pool = r2dbc.getPool();
+            if (!pool.isEnabled() || factory instanceof ConnectionPool) {
+                return factory;
+            }
+            final ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(factory);
+            final PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+            map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+            map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+            map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+            map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+            map.from(pool.getMaxValidationTime()).to(builder::maxValidationTime);
+            map.from(pool.getInitialSize()).to(builder::initialSize);
+            map.from(pool.getMaxSize()).to(builder::maxSize);
+            map.from(pool.getMinIdle()).to(builder::minIdle);
+            map.from(pool.getValidationQuery()).whenHasText().to(builder::validationQuery);
+            map.from(pool.getValidationDepth()).to(builder::validationDepth);
+            return new ConnectionPool(builder.build());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.todowebapp.datasource;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends reads marked by {@link ReadOnlyRouting} to the replicas in round robin and everything else to the primary.
+ * Unwraps to the primary so its pool keeps backing Boot's {@code r2dbc.pool.*} gauges.
+ */
+public class ReadWriteRoutingConnectionFactory extends AbstractRoutingConnectionFactory
+        implements Wrapped<ConnectionFactory>, Disposable {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica-";
+
+    private final ConnectionFactory primary;
+    private final List<ConnectionFactory> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary,
+                                             List<ConnectionFactory> replicas,
+                                             ReadYourWritesTracker tracker) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+        final Map<String, ConnectionFactory> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(REPLICA + i, this.replicas.get(i));
+        }
+        setTargetConnectionFactories(targets);
+        setDefaultTargetConnectionFactory(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            final String stickyKey = context.getOrDefault(ReadOnlyRouting.CONTEXT_KEY, null);
+            if (stickyKey == null || replicas.isEmpty()
+                    || (!stickyKey.isEmpty() && tracker.isSticky(stickyKey))) {
+                return Mono.just(PRIMARY);
+            }
+            return Mono.just(REPLICA + Math.floorMod(next.getAndIncrement(), replicas.size()));
+        });
+    }
+
+    public List<ConnectionFactory> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * The routing factory behind {@code candidate} and its wrappers, or null when reads are not routed.
+     */
+    public static ReadWriteRoutingConnectionFactory find(Object candidate) {
+        if (candidate instanceof ReadWriteRoutingConnectionFactory routing) {
+            return routing;
+        }
+        if (candidate instanceof Wrapped<?> wrapped) {
+            return find(wrapped.unwrap());
+        }
+        return null;
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return primary;
+    }
+
+    @Override
+    public void dispose() {
+        replicas.forEach(ReadWriteRoutingConnectionFactory::dispose);
+        dispose(primary);
+    }
+
+    static void dispose(ConnectionFactory factory) {
+        if (factory instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.todowebapp.datasource;
+
+import com.example.todowebapp.config.ReplicaProperties;
+import com.example.todowebapp.service.InvalidationEvent;
+import com.example.todowebapp.service.InvalidationListener;
+import com.example.todowebapp.service.TodoChangeListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Remembers recent writes for {@link ReadOnlyRouting} so that a user reads their own writes from the primary
+ * until replicas had time to catch up. Todo writes are recorded after commit through {@link TodoChangeListener};
+ * writes made on other instances arrive through the invalidation bus, so the next request of that user stays
+ * on the primary whichever instance it lands on. When notifications may have been missed, every read goes to
+ * the primary for one window.
+ */
+@Component
+public class ReadYourWritesTracker implements TodoChangeListener, InvalidationListener {
+
+    private final Cache<String, Boolean> recentWrites;
+    private final boolean enabled;
+    private final long windowNanos;
+    private volatile long allStickyUntil;
+
+    public ReadYourWritesTracker(ReplicaProperties properties) {
+        final Duration window = properties.getReadYourWritesWindow();
+        this.enabled = !properties.getReplicas().isEmpty() && window != null && !window.isZero();
+        this.windowNanos = enabled ? window.toNanos() : 0;
+        this.allStickyUntil = System.nanoTime();
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(enabled ? window : Duration.ofNanos(1))
+                .maximumSize(properties.getReadYourWritesMaximumSize())
+                .build();
+    }
+
+    public void markWrite(String key) {
+        if (enabled) {
+            recentWrites.put(key, Boolean.TRUE);
+        }
+    }
+
+    public boolean isSticky(String key) {
+        return enabled && (System.nanoTime() - allStickyUntil < 0 || recentWrites.getIfPresent(key) != null);
+    }
+
+    @Override
+    public void onTodosChanged(Long userId) {
+        markWrite(ReadOnlyRouting.userKey(userId));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.entity() == InvalidationEvent.Entity.TODOS) {
+            markWrite(ReadOnlyRouting.userKey(event.userId()));
+        } else if (event.email() != null) {
+            // a registration elsewhere: the login that follows may land here
+            markWrite(ReadOnlyRouting.emailKey(event.email()));
+        }
+    }
+
+    @Override
+    public void onFlush() {
+        if (enabled) {
+            allStickyUntil = System.nanoTime() + windowNanos;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.todowebapp.domain.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleAuthorityRow {
+
+    private Long roleId;
+
+    private String userPrivilege;
+}
@@ -4,4 +4,5 @@ import reactor.core.publisher.Flux;
 
 public interface RolePrivilegeDao {
     Flux<RolePrivilegeRow> findByRoleId(Long roleId);
+    Flux<RoleAuthorityRow> findAllAuthorities();
 }
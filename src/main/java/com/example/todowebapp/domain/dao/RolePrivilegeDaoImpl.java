@@ -1,5 +1,6 @@
 package com.example.todowebapp.domain.dao;
 
+import io.r2dbc.spi.Readable;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -7,6 +8,18 @@ import reactor.core.publisher.Flux;
 @Repository
 public class RolePrivilegeDaoImpl implements RolePrivilegeDao {
 
+    static final String FIND_BY_ROLE_ID = """
+            SELECT role_id, privilege_id
+            FROM public.roles_privileges
+            WHERE role_id = :roleId
+            """;
+
+    static final String FIND_ALL_AUTHORITIES = """
+            SELECT rp.role_id, p.user_privilege
+            FROM public.roles_privileges rp
+            JOIN public.privileges p ON p.id = rp.privilege_id
+            """;
+
     private final DatabaseClient client;
 
     public RolePrivilegeDaoImpl(DatabaseClient client) {
@@ -15,15 +28,24 @@ public class RolePrivilegeDaoImpl implements RolePrivilegeDao {
 
     @Override
     public Flux<RolePrivilegeRow> findByRoleId(Long roleId) {
-        return client.sql("""
-                SELECT role_id, privilege_id
-                FROM public.roles_privileges
-                WHERE role_id = :roleId
-                """)
+        return client.sql(FIND_BY_ROLE_ID)
                 .bind("roleId", roleId)
-                .map((row, meta) -> new RolePrivilegeRow(
+                .map(RolePrivilegeDaoImpl::toRow)
+                .all();
+    }
+
+    @Override
+    public Flux<RoleAuthorityRow> findAllAuthorities() {
+        return client.sql(FIND_ALL_AUTHORITIES)
+                .map((row, meta) -> new RoleAuthorityRow(
                         row.get("role_id", Long.class),
-                        row.get("privilege_id", Long.class)))
+                        row.get("user_privilege", String.class)))
                 .all();
     }
+
+    private static RolePrivilegeRow toRow(Readable row) {
+        return new RolePrivilegeRow(
+                row.get("role_id", Long.class),
+                row.get("privilege_id", Long.class));
+    }
 }
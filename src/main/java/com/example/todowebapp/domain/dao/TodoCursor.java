@@ -0,0 +1,34 @@
+package com.example.todowebapp.domain.dao;
+
+import com.example.todowebapp.exceptions.ApiException;
+import com.example.todowebapp.exceptions.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the {@code (due_date NULLS LAST, id)} ordering, encoded as URL-safe Base64 of {@code dueDate|id}.
+ */
+public record TodoCursor(LocalDate dueDate, long id) {
+
+    public String encode() {
+        final String raw = (dueDate != null ? dueDate.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoCursor decode(String cursor) {
+        try {
+            final String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new ApiException(ErrorCode.INVALID_CURSOR);
+            }
+            final String date = raw.substring(0, sep);
+            return new TodoCursor(date.isEmpty() ? null : LocalDate.parse(date), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ApiException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.todowebapp.domain.dao;
+
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.dto.TodoQuery;
+import com.example.todowebapp.domain.entity.Todo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TodoDao {
+    /**
+     * Todos of a user matching the query filters, ordered by {@code (due_date NULLS LAST, id)}.
+     * Starts after the query cursor and emits at most {@code fetchLimit} rows when it is positive.
+     */
+    Flux<TodoDTO> findPage(Long userId, TodoQuery query, int fetchLimit);
+
+    /**
+     * Same selection as {@link #findPage}, but read through a database cursor {@code fetchSize} rows at a time
+     * so that rows are only pulled as fast as the subscriber requests them.
+     */
+    Flux<TodoDTO> stream(Long userId, TodoQuery query, int fetchLimit, int fetchSize);
+
+    /**
+     * Deletes the given todos owned by the user in one statement and emits the deleted rows.
+     * Ids belonging to other users or not existing are ignored.
+     */
+    Flux<Todo> deleteOwned(Long userId, Collection<Long> ids);
+
+    /**
+     * Inserts all todos as one batched statement and emits the generated ids in input order.
+     */
+    Flux<Long> insertAll(List<Todo> todos);
+
+    /**
+     * Version a batch update emits for a todo it did not change.
+     */
+    long NOT_UPDATED = 0;
+
+    /**
+     * Updates all todos owned by the user as one batched statement and emits the new version per todo in
+     * input order. A todo carrying a version is only updated while the row still has that version;
+     * {@link #NOT_UPDATED} means the todo does not exist, belongs to someone else or has moved on.
+     */
+    Flux<Long> updateOwned(Long userId, List<Todo> todos);
+
+    /**
+     * Updates a todo owned by the user in one statement, bumping its version, and emits the updated row.
+     * When {@code expectedVersion} is not null the row must still be at that version. Empty when nothing matched.
+     */
+    Mono<Todo> updateIfMatch(Long userId, Todo todo, Long expectedVersion);
+
+    /**
+     * Todos of a user written at a list version in {@code (afterSeq, upToSeq]}, oldest change first.
+     */
+    Flux<TodoDTO> findChanged(Long userId, long afterSeq, long upToSeq);
+}
@@ -0,0 +1,275 @@
+package com.example.todowebapp.domain.dao;
+
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.dto.TodoQuery;
+import com.example.todowebapp.domain.entity.Todo;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keyset-paginated todo listing backed by the {@code todos(user_id, due_date, id)} index.
+ * Reads are projected straight into {@link TodoDTO}; writes still go through the {@link Todo} entity.
+ */
+@Repository
+public class TodoDaoImpl implements TodoDao {
+
+    private static final String COLUMNS = "id, description, due_date, check_mark, completion_date, user_id, version";
+
+    static final String DELETE_OWNED_POSTGRES = """
+            DELETE FROM public.todos
+            WHERE user_id = :userId AND id = ANY(:ids)
+            RETURNING id, description, due_date, check_mark, completion_date, user_id, version
+            """;
+
+    // H2 has no RETURNING; the deleted rows are read back through a data change delta table instead.
+    static final String DELETE_OWNED_H2 = """
+            SELECT id, description, due_date, check_mark, completion_date, user_id, version
+            FROM OLD TABLE (DELETE FROM public.todos WHERE user_id = :userId AND id = ANY(:ids))
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO public.todos (description, due_date, check_mark, completion_date, user_id, change_seq)
+            VALUES ($1, $2, $3, $4, $5, $6)
+            """;
+
+    // a null expected version ($8) updates unconditionally, like a single update without If-Match
+    private static final String UPDATE_OWNED = """
+            UPDATE public.todos
+            SET description = $1, due_date = $2, check_mark = $3, completion_date = $4,
+                version = version + 1, change_seq = $5, update_date = CURRENT_TIMESTAMP
+            WHERE id = $6 AND user_id = $7 AND (CAST($8 AS BIGINT) IS NULL OR version = $8)
+            """;
+
+    static final String UPDATE_IF_MATCH = """
+            UPDATE public.todos
+            SET description = :description, due_date = :dueDate, check_mark = :checkMark,
+                completion_date = :completionDate, version = version + 1, change_seq = :changeSeq,
+                update_date = CURRENT_TIMESTAMP
+            WHERE id = :id AND user_id = :userId
+            """;
+
+    static final String FIND_CHANGED = """
+            SELECT %s
+            FROM public.todos
+            WHERE user_id = :userId AND change_seq > :afterSeq AND change_seq <= :upToSeq
+            ORDER BY change_seq, id
+            """.formatted(TodoDtoRowMapper.COLUMNS);
+
+    private final DatabaseClient client;
+    private final boolean h2;
+
+    public TodoDaoImpl(DatabaseClient client) {
+        this.client = client;
+        this.h2 = "H2".equalsIgnoreCase(client.getConnectionFactory().getMetadata().getName());
+    }
+
+    @Override
+    public Flux<TodoDTO> findPage(Long userId, TodoQuery query, int fetchLimit) {
+        return execute(select(userId, query, fetchLimit))
+                .map(TodoDtoRowMapper::map)
+                .all();
+    }
+
+    @Override
+    public Flux<TodoDTO> stream(Long userId, TodoQuery query, int fetchLimit, int fetchSize) {
+        return execute(select(userId, query, fetchLimit))
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(TodoDtoRowMapper::map)
+                .all();
+    }
+
+    @Override
+    public Flux<Todo> deleteOwned(Long userId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return client.sql(h2 ? DELETE_OWNED_H2 : DELETE_OWNED_POSTGRES)
+                .bind("userId", userId)
+                .bind("ids", ids.toArray(Long[]::new))
+                .map(TodoDaoImpl::toTodo)
+                .all();
+    }
+
+    @Override
+    public Flux<Long> insertAll(List<Todo> todos) {
+        if (todos.isEmpty()) {
+            return Flux.empty();
+        }
+        return client.inConnectionMany(connection -> {
+            final Statement statement = connection.createStatement(INSERT).returnGeneratedValues("id");
+            for (int i = 0; i < todos.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                final Todo todo = todos.get(i);
+                bindValues(statement, todo);
+                statement.bind(4, todo.getUserId());
+                statement.bind(5, todo.getChangeSeq());
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map(row -> row.get("id", Long.class)));
+        });
+    }
+
+    @Override
+    public Flux<Long> updateOwned(Long userId, List<Todo> todos) {
+        if (todos.isEmpty()) {
+            return Flux.empty();
+        }
+        return client.inConnectionMany(connection -> {
+            final Statement statement = connection.createStatement(updateOwned(h2));
+            for (int i = 0; i < todos.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                final Todo todo = todos.get(i);
+                bindValues(statement, todo);
+                statement.bind(4, todo.getChangeSeq());
+                statement.bind(5, todo.getId());
+                statement.bind(6, userId);
+                if (todo.getVersion() != null) {
+                    statement.bind(7, todo.getVersion());
+                } else {
+                    statement.bindNull(7, Long.class);
+                }
+            }
+            // one result per binding, holding the new version or no row at all
+            return Flux.from(statement.execute())
+                    .concatMap(result -> Mono.from(result.map(row -> row.get("version", Long.class)))
+                            .defaultIfEmpty(NOT_UPDATED));
+        });
+    }
+
+    @Override
+    public Mono<Todo> updateIfMatch(Long userId, Todo todo, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql(updateIfMatch(h2, expectedVersion != null))
+                .bind("description", todo.getDescription())
+                .bind("dueDate", todo.getDueDate())
+                .bind("checkMark", todo.isCheckMark())
+                .bind("changeSeq", todo.getChangeSeq())
+                .bind("id", todo.getId())
+                .bind("userId", userId);
+        spec = todo.getCompletionDate() != null
+                ? spec.bind("completionDate", todo.getCompletionDate())
+                : spec.bindNull("completionDate", LocalDate.class);
+        if (expectedVersion != null) {
+            spec = spec.bind("version", expectedVersion);
+        }
+        return spec.map(TodoDaoImpl::toTodo).one();
+    }
+
+    @Override
+    public Flux<TodoDTO> findChanged(Long userId, long afterSeq, long upToSeq) {
+        return client.sql(FIND_CHANGED)
+                .bind("userId", userId)
+                .bind("afterSeq", afterSeq)
+                .bind("upToSeq", upToSeq)
+                .map(TodoDtoRowMapper::map)
+                .all();
+    }
+
+    private static void bindValues(Statement statement, Todo todo) {
+        statement.bind(0, todo.getDescription());
+        statement.bind(1, todo.getDueDate());
+        statement.bind(2, todo.isCheckMark());
+        if (todo.getCompletionDate() != null) {
+            statement.bind(3, todo.getCompletionDate());
+        } else {
+            statement.bindNull(3, LocalDate.class);
+        }
+    }
+
+    static String updateOwned(boolean h2) {
+        return h2
+                ? "SELECT version FROM FINAL TABLE (" + UPDATE_OWNED + ")"
+                : UPDATE_OWNED + " RETURNING version";
+    }
+
+    static String updateIfMatch(boolean h2, boolean versioned) {
+        final String update = versioned ? UPDATE_IF_MATCH + " AND version = :version" : UPDATE_IF_MATCH;
+        return h2
+                ? "SELECT " + COLUMNS + " FROM FINAL TABLE (" + update + ")"
+                : update + " RETURNING " + COLUMNS;
+    }
+
+    static Select select(Long userId, TodoQuery query, int fetchLimit) {
+        final StringBuilder sql = new StringBuilder("""
+                SELECT %s
+                FROM public.todos t
+                WHERE t.user_id = :userId
+                """.formatted(TodoDtoRowMapper.COLUMNS));
+        final Map<String, Object> params = new LinkedHashMap<>();
+        params.put("userId", userId);
+
+        if (query.getCheckMark() != null) {
+            sql.append(" AND t.check_mark = :checkMark");
+            params.put("checkMark", query.getCheckMark());
+        }
+        if (query.getDueFrom() != null) {
+            sql.append(" AND t.due_date >= :dueFrom");
+            params.put("dueFrom", query.getDueFrom());
+        }
+        if (query.getDueTo() != null) {
+            sql.append(" AND t.due_date <= :dueTo");
+            params.put("dueTo", query.getDueTo());
+        }
+        if (Boolean.TRUE.equals(query.getOverdue())) {
+            sql.append(" AND t.due_date < :today AND t.check_mark = FALSE");
+            params.put("today", LocalDate.now());
+        }
+        if (query.getCursor() != null) {
+            final TodoCursor cursor = TodoCursor.decode(query.getCursor());
+            if (cursor.dueDate() != null) {
+                sql.append(" AND ((t.due_date, t.id) > (:cursorDue, :cursorId) OR t.due_date IS NULL)");
+                params.put("cursorDue", cursor.dueDate());
+            } else {
+                sql.append(" AND t.due_date IS NULL AND t.id > :cursorId");
+            }
+            params.put("cursorId", cursor.id());
+        }
+
+        sql.append(" ORDER BY t.due_date ASC NULLS LAST, t.id ASC");
+        if (fetchLimit > 0) {
+            sql.append(" LIMIT :limit");
+            params.put("limit", fetchLimit);
+        }
+
+        return new Select(sql.toString(), params);
+    }
+
+    private DatabaseClient.GenericExecuteSpec execute(Select select) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql(select.sql());
+        for (Map.Entry<String, Object> param : select.params().entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec;
+    }
+
+    static Todo toTodo(Readable row) {
+        return Todo.builder()
+                .id(row.get("id", Long.class))
+                .description(row.get("description", String.class))
+                .dueDate(row.get("due_date", LocalDate.class))
+                .checkMark(Boolean.TRUE.equals(row.get("check_mark", Boolean.class)))
+                .completionDate(row.get("completion_date", LocalDate.class))
+                .userId(row.get("user_id", Long.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    /**
+     * A listing statement together with the values of its named parameters.
+     */
+    record Select(String sql, Map<String, Object> params) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todowebapp.domain.dao;
+
+import com.example.todowebapp.domain.dto.TodoDTO;
+import io.r2dbc.spi.Readable;
+
+import java.time.LocalDate;
+
+/**
+ * Maps rows selecting {@link #COLUMNS}, in that order, straight to {@link TodoDTO} by column index:
+ * no entity, no builder and no name lookup per row. Fields are set by name, so reordering the DTO's
+ * fields cannot shift values into the wrong ones.
+ */
+final class TodoDtoRowMapper {
+
+    static final String COLUMNS = "id, description, due_date, check_mark, completion_date, version";
+
+    private static final int ID = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int DUE_DATE = 2;
+    private static final int CHECK_MARK = 3;
+    private static final int COMPLETION_DATE = 4;
+    private static final int VERSION = 5;
+
+    private TodoDtoRowMapper() {
+    }
+
+    static TodoDTO map(Readable row) {
+        final TodoDTO todo = new TodoDTO();
+        todo.setId(row.get(ID, Long.class));
+        todo.setDescription(row.get(DESCRIPTION, String.class));
+        todo.setDueDate(row.get(DUE_DATE, LocalDate.class));
+        todo.setCheckMark(Boolean.TRUE.equals(row.get(CHECK_MARK, Boolean.class)));
+        todo.setCompletionDate(row.get(COMPLETION_DATE, LocalDate.class));
+        todo.setVersion(row.get(VERSION, Long.class));
+        return todo;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todowebapp.domain.dao;
+
+import com.example.todowebapp.exceptions.ApiException;
+import com.example.todowebapp.exceptions.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Delta sync position: the todo list version the client is up to date with and when that was handed out,
+ * encoded as URL-safe Base64 of {@code version|issuedAtEpochSecond}.
+ */
+public record TodoSyncToken(long version, long issuedAt) {
+
+    public static TodoSyncToken issue(long version) {
+        return new TodoSyncToken(version, Instant.now().getEpochSecond());
+    }
+
+    public String encode() {
+        final String raw = version + "|" + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoSyncToken decode(String token) {
+        try {
+            final String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new ApiException(ErrorCode.INVALID_SYNC_TOKEN);
+            }
+            return new TodoSyncToken(Long.parseLong(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(ErrorCode.INVALID_SYNC_TOKEN);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.todowebapp.domain.dao;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TodoTombstoneDao {
+    /**
+     * Records the deletion of the user's todos at the given list version, as one batched statement.
+     */
+    Mono<Void> insertAll(Long userId, List<Long> todoIds, long changeSeq, LocalDateTime deletedAt);
+
+    /**
+     * Ids of the user's todos deleted at a list version in {@code (afterSeq, upToSeq]}.
+     */
+    Flux<Long> findDeleted(Long userId, long afterSeq, long upToSeq);
+
+    /**
+     * Removes tombstones older than the cutoff and emits how many were removed.
+     */
+    Mono<Long> deleteOlderThan(LocalDateTime cutoff);
+}
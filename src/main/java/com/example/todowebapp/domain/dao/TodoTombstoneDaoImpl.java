@@ -0,0 +1,75 @@
+package com.example.todowebapp.domain.dao;
+
+import io.r2dbc.spi.Statement;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deleted todo ids kept for delta sync, looked up through the {@code todo_tombstones(user_id, change_seq)} index.
+ */
+@Repository
+public class TodoTombstoneDaoImpl implements TodoTombstoneDao {
+
+    private static final String INSERT = """
+            INSERT INTO public.todo_tombstones (todo_id, user_id, change_seq, deleted_at)
+            VALUES ($1, $2, $3, $4)
+            """;
+
+    static final String FIND_DELETED = """
+            SELECT todo_id FROM public.todo_tombstones
+            WHERE user_id = :userId AND change_seq > :afterSeq AND change_seq <= :upToSeq
+            ORDER BY change_seq, todo_id
+            """;
+
+    static final String DELETE_OLDER_THAN = "DELETE FROM public.todo_tombstones WHERE deleted_at < :cutoff";
+
+    private final DatabaseClient client;
+
+    public TodoTombstoneDaoImpl(DatabaseClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Mono<Void> insertAll(Long userId, List<Long> todoIds, long changeSeq, LocalDateTime deletedAt) {
+        if (todoIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return client.inConnectionMany(connection -> {
+            final Statement statement = connection.createStatement(INSERT);
+            for (int i = 0; i < todoIds.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                statement.bind(0, todoIds.get(i))
+                        .bind(1, userId)
+                        .bind(2, changeSeq)
+                        .bind(3, deletedAt);
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> Flux.from(result.getRowsUpdated()));
+        }).then();
+    }
+
+    @Override
+    public Flux<Long> findDeleted(Long userId, long afterSeq, long upToSeq) {
+        return client.sql(FIND_DELETED)
+                .bind("userId", userId)
+                .bind("afterSeq", afterSeq)
+                .bind("upToSeq", upToSeq)
+                .map(row -> row.get("todo_id", Long.class))
+                .all();
+    }
+
+    @Override
+    public Mono<Long> deleteOlderThan(LocalDateTime cutoff) {
+        return client.sql(DELETE_OLDER_THAN)
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+}
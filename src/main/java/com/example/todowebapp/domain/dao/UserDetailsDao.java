@@ -0,0 +1,8 @@
+package com.example.todowebapp.domain.dao;
+
+import com.example.todowebapp.security.AuthenticationUserDetails;
+import reactor.core.publisher.Mono;
+
+public interface UserDetailsDao {
+    Mono<AuthenticationUserDetails> findByEmail(String email);
+}
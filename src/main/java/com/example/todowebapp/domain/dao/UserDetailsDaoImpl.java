@@ -0,0 +1,59 @@
+package com.example.todowebapp.domain.dao;
+
+import com.example.todowebapp.security.AuthenticationUserDetails;
+import com.example.todowebapp.security.RolePrivilegeCatalog;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Loads a user by email; role and authorities come from the current {@link RolePrivilegeCatalog} snapshot
+ * instead of joining the seed tables on every lookup, so a catalog refresh reaches newly loaded principals.
+ */
+@Repository
+public class UserDetailsDaoImpl implements UserDetailsDao {
+
+    static final String FIND_BY_EMAIL = """
+            SELECT u.id, u.email, u.password, u.is_system, u.role_id, u.token_version
+            FROM public.users u
+            WHERE u.email = :email
+            """;
+
+    private final DatabaseClient client;
+    private final RolePrivilegeCatalog rolePrivilegeCatalog;
+
+    public UserDetailsDaoImpl(DatabaseClient client, RolePrivilegeCatalog rolePrivilegeCatalog) {
+        this.client = client;
+        this.rolePrivilegeCatalog = rolePrivilegeCatalog;
+    }
+
+    @Override
+    public Mono<AuthenticationUserDetails> findByEmail(String email) {
+        return rolePrivilegeCatalog.snapshot()
+                .flatMap(catalog -> client.sql(FIND_BY_EMAIL)
+                        .bind("email", email)
+                        .map(row -> toDetails(row, catalog))
+                        .first());
+    }
+
+    private static AuthenticationUserDetails toDetails(Readable row, RolePrivilegeCatalog.Snapshot catalog) {
+        final Long roleId = row.get("role_id", Long.class);
+        final Long tokenVersion = row.get("token_version", Long.class);
+        return AuthenticationUserDetails.authBuilder()
+                .userId(row.get("id", Long.class))
+                .username(Objects.requireNonNullElse(row.get("email", String.class), ""))
+                .password(Objects.requireNonNullElse(row.get("password", String.class), ""))
+                .system(Boolean.TRUE.equals(row.get("is_system", Boolean.class)))
+                .tokenVersion(tokenVersion != null ? tokenVersion : 0L)
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .userRole(catalog.role(roleId))
+                .authorities(catalog.authorities(roleId))
+                .build();
+    }
+}
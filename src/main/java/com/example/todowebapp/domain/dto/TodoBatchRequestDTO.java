@@ -0,0 +1,29 @@
+package com.example.todowebapp.domain.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Items without an id are created, items with an id are updated.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TodoBatchRequestDTO {
+    /**
+     * When set, any failing item rolls back the whole batch.
+     */
+    private boolean atomic;
+    @NotNull
+    @NotEmpty
+    @Builder.Default
+    private List<TodoDTO> items = new ArrayList<>();
+}
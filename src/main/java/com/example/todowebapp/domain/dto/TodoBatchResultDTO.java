@@ -0,0 +1,21 @@
+package com.example.todowebapp.domain.dto;
+
+import com.example.todowebapp.domain.enumerated.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TodoBatchResultDTO {
+    /**
+     * Position of the item in the request.
+     */
+    private int index;
+    private BatchItemStatus status;
+    private TodoDTO todo;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.example.todowebapp.domain.dto;
+
+import com.example.todowebapp.domain.enumerated.TodoChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TodoChangeEventDTO {
+    private TodoChangeType type;
+    /**
+     * The todo after the change; for deletions its last state. Null for {@link TodoChangeType#RESYNC}.
+     */
+    private TodoDTO todo;
+}
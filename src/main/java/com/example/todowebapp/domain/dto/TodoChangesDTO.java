@@ -0,0 +1,28 @@
+package com.example.todowebapp.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TodoChangesDTO {
+    /**
+     * Todos created or updated since the token; the whole list when {@link #reset} is set.
+     */
+    private List<TodoDTO> changed;
+    /**
+     * Ids of todos deleted since the token.
+     */
+    private List<Long> deleted;
+    /**
+     * True when the client must replace its copy with {@link #changed} instead of applying a delta.
+     */
+    private boolean reset;
+    private String syncToken;
+}
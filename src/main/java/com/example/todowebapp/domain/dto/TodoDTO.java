@@ -21,4 +21,8 @@ public class TodoDTO {
     @NotNull
     private boolean checkMark;
     private LocalDate completionDate;
+    /**
+     * Optimistic locking version; sent back as the ETag of the todo.
+     */
+    private Long version;
 }
@@ -0,0 +1,20 @@
+package com.example.todowebapp.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TodoPageDTO {
+    private List<TodoDTO> items;
+    /**
+     * Opaque cursor for the next page, null on the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package com.example.todowebapp.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Filters and keyset position for listing todos. A null limit keeps the listing unpaged.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TodoQuery {
+    public static final int MAX_LIMIT = 1000;
+    /**
+     * Streams hold no page in memory, so they may take far more rows than a page; still bounded per request.
+     */
+    public static final int MAX_STREAM_LIMIT = 100_000;
+
+    private Integer limit;
+    private String cursor;
+    private Boolean checkMark;
+    private LocalDate dueFrom;
+    private LocalDate dueTo;
+    private Boolean overdue;
+}
@@ -2,6 +2,7 @@ package com.example.todowebapp.domain.entity;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -34,4 +35,14 @@ public class Todo extends TimestampEntity {
 
     @Column("user_id")
     private Long userId;   // FK to users.id
+
+    @Version
+    @Column("version")
+    private Long version;
+
+    /**
+     * The user's todo list version this row was last written at; drives delta sync.
+     */
+    @Column("change_seq")
+    private Long changeSeq;
 }
@@ -31,4 +31,7 @@ public class User extends TimestampEntity {
 
     @Column("is_system")
     private Boolean system;
+
+    @Column("token_version")
+    private long tokenVersion;   // bumped to revoke stateless tokens
 }
@@ -0,0 +1,7 @@
+package com.example.todowebapp.domain.enumerated;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    FAILED
+}
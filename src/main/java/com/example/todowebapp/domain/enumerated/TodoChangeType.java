@@ -0,0 +1,11 @@
+package com.example.todowebapp.domain.enumerated;
+
+public enum TodoChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /**
+     * Changes may have been missed (resume point too old, or a write handled by another instance); refetch the list.
+     */
+    RESYNC
+}
@@ -12,6 +12,14 @@ public enum ErrorCode {
     USER_CANNOT_UPDATE_ANOTHER_USER_TODO("User cannot update another user todo"),
     USER_CANNOT_DELETE_ANOTHER_USER_TODO("User cannot delete another user todo"),
     YOU_CANNOT_CREATE_AN_ADMIN_USER("You cannot create a user with admin role"),
-    ROLE_NOT_FOUND("User role not found");
+    ROLE_NOT_FOUND("User role not found"),
+    PASSWORD_HASHING_SATURATED("Too many concurrent sign-ins, please retry later"),
+    DATABASE_SATURATED("Service is overloaded, please retry later"),
+    INVALID_CURSOR("Invalid pagination cursor"),
+    INVALID_SYNC_TOKEN("Invalid sync token"),
+    BATCH_TOO_LARGE("Too many items in batch"),
+    BATCH_REJECTED("Batch rejected because an item failed"),
+    TODO_VERSION_CONFLICT("Todo task was modified concurrently, reload it and retry"),
+    WEAK_IF_MATCH("If-Match needs a strong entity tag, weak tags never match");
     private final String data;
 }
@@ -0,0 +1,16 @@
+package com.example.todowebapp.exceptions;
+
+import lombok.Getter;
+
+/**
+ * The resource changed since the client read it; carries the current version so it can be returned as the ETag.
+ */
+@Getter
+public class PreconditionFailedException extends ApiException {
+    private final Long currentVersion;
+
+    public PreconditionFailedException(ErrorCode errorCode, Long currentVersion) {
+        super(errorCode);
+        this.currentVersion = currentVersion;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.todowebapp.exceptions;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceUnavailableException extends ApiException {
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(ErrorCode errorCode, Duration retryAfter) {
+        super(errorCode);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.todowebapp.filter;
+
+import com.example.todowebapp.config.PoolSheddingProperties;
+import com.example.todowebapp.exceptions.ErrorCode;
+import com.example.todowebapp.exceptions.ServiceUnavailableException;
+import com.example.todowebapp.handler.GlobalExceptionTranslator;
+import com.example.todowebapp.handler.GlobalExceptionTranslator.ErrorDTO;
+import com.example.todowebapp.metrics.ConnectionPoolMonitor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rejects new requests with 503 while too many callers are already queued for a database connection,
+ * instead of letting them pile up inside the pool until they time out. Actuator endpoints are never shed
+ * so probes and scrapes keep working. Runs before security, so rejected requests cost no token check.
+ * Filters sit outside the controller advice, so the rejection is rendered through
+ * {@link GlobalExceptionTranslator} by hand to answer exactly like any other {@link ServiceUnavailableException}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class PoolLoadSheddingWebFilter implements WebFilter {
+
+    private static final String ACTUATOR = "/actuator";
+
+    private final ConnectionPoolMonitor monitor;
+    private final PoolSheddingProperties properties;
+    private final GlobalExceptionTranslator exceptionTranslator;
+    private final ObjectMapper objectMapper;
+    private final Counter shed;
+
+    public PoolLoadSheddingWebFilter(ConnectionPoolMonitor monitor,
+                                     PoolSheddingProperties properties,
+                                     GlobalExceptionTranslator exceptionTranslator,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        this.monitor = monitor;
+        this.properties = properties;
+        this.exceptionTranslator = exceptionTranslator;
+        this.objectMapper = objectMapper;
+        this.shed = Counter.builder("db.pool.shed")
+                .description("Requests rejected because the connection pool was backed up")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!monitor.isOverloaded() || exchange.getRequest().getPath().value().startsWith(ACTUATOR)) {
+            return chain.filter(exchange);
+        }
+        shed.increment();
+        log.debug("Shedding {} {}: connection pool backed up", exchange.getRequest().getMethod(),
+                exchange.getRequest().getPath());
+
+        final ResponseEntity<ErrorDTO> error = exceptionTranslator.serviceUnavailableException(
+                new ServiceUnavailableException(ErrorCode.DATABASE_SATURATED, properties.getRetryAfter()));
+        final ServerHttpResponse resp = exchange.getResponse();
+        resp.setStatusCode(error.getStatusCode());
+        resp.getHeaders().putAll(error.getHeaders());
+        resp.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return resp.writeWith(Mono.fromCallable(() ->
+                resp.bufferFactory().wrap(objectMapper.writeValueAsBytes(error.getBody()))));
+    }
+}
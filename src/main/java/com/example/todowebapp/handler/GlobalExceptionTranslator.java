@@ -1,13 +1,23 @@
 package com.example.todowebapp.handler;
 
 import com.example.todowebapp.exceptions.ApiException;
+import com.example.todowebapp.exceptions.PreconditionFailedException;
+import com.example.todowebapp.exceptions.ServiceUnavailableException;
+import jakarta.validation.ConstraintViolationException;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -21,6 +31,42 @@ public class GlobalExceptionTranslator {
         return new ErrorDTO(HttpStatus.BAD_REQUEST, apiException.getMessage());
     }
 
+    @ExceptionHandler(value = {PreconditionFailedException.class})
+    public ResponseEntity<ErrorDTO> preconditionFailedException(PreconditionFailedException exception) {
+        log.warn("Precondition failed: {}", exception.getMessage());
+        final ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if (exception.getCurrentVersion() != null) {
+            response.eTag(String.valueOf(exception.getCurrentVersion()));
+        }
+        return response.body(new ErrorDTO(HttpStatus.PRECONDITION_FAILED, exception.getMessage()));
+    }
+
+    @ExceptionHandler(value = {ServiceUnavailableException.class})
+    public ResponseEntity<ErrorDTO> serviceUnavailableException(ServiceUnavailableException exception) {
+        log.warn("Service unavailable: {}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, exception.getRetryAfter().toSeconds())))
+                .body(new ErrorDTO(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage()));
+    }
+
+    @ExceptionHandler(value = {WebExchangeBindException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDTO handleBindException(WebExchangeBindException exception) {
+        log.warn("Validation failed: {}", exception.getMessage());
+        final String msg = exception.getFieldErrors().stream()
+                .map(e -> e.getField() + " " + e.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        return new ErrorDTO(HttpStatus.BAD_REQUEST, "Validation failed: " + msg);
+    }
+
+    @ExceptionHandler(value = {ConstraintViolationException.class, HandlerMethodValidationException.class,
+            ServerWebInputException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDTO handleInvalidInput(Exception exception) {
+        log.warn("Invalid request input: {}", exception.getMessage());
+        return new ErrorDTO(HttpStatus.BAD_REQUEST, "Invalid request: " + exception.getMessage());
+    }
+
     @ExceptionHandler(value = {IllegalArgumentException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorDTO handleIllegalArgumentException(IllegalArgumentException exception) {
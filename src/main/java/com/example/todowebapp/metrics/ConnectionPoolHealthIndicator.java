@@ -0,0 +1,48 @@
+package com.example.todowebapp.metrics;
+
+import com.example.todowebapp.config.PoolSheddingProperties;
+import io.r2dbc.pool.PoolMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Takes the instance out of rotation while any connection pool is backed up past the shedding threshold.
+ * Exposed as {@code connectionPool} and included in the readiness group. The primary's state is reported at
+ * the top level, each replica's under its pool name.
+ */
+@Component("connectionPool")
+@RequiredArgsConstructor
+public class ConnectionPoolHealthIndicator implements HealthIndicator {
+
+    private final ConnectionPoolMonitor monitor;
+    private final PoolSheddingProperties properties;
+
+    @Override
+    public Health health() {
+        final Map<String, PoolMetrics> pools = monitor.metrics();
+        if (pools.isEmpty()) {
+            return Health.unknown().withDetail("reason", "connection pooling disabled").build();
+        }
+        final Health.Builder health = monitor.isOverloaded() ? Health.outOfService() : Health.up();
+        pools.forEach((name, metrics) -> {
+            if (ConnectionPoolMonitor.PRIMARY.equals(name)) {
+                health.withDetails(details(metrics));
+            } else {
+                health.withDetail(name, details(metrics));
+            }
+        });
+        return health.withDetail("pendingThreshold", properties.getPendingThreshold()).build();
+    }
+
+    private static Map<String, Object> details(PoolMetrics metrics) {
+        return Map.of(
+                "acquired", metrics.acquiredSize(),
+                "idle", metrics.idleSize(),
+                "pending", metrics.pendingAcquireSize(),
+                "maxAllocated", metrics.getMaxAllocatedSize());
+    }
+}
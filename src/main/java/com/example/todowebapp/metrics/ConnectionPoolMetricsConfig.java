@@ -0,0 +1,28 @@
+package com.example.todowebapp.metrics;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConnectionPoolMetricsConfig {
+
+    /**
+     * Wraps the auto-configured connection factory so connection acquisition is timed per request.
+     * Static and lazy on {@link StageMetrics} so the meter registry is not created during post-processor setup.
+     */
+    @Bean
+    static BeanPostProcessor timedConnectionFactoryPostProcessor(ObjectProvider<StageMetrics> stageMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory factory && !(bean instanceof TimedConnectionFactory)) {
+                    return new TimedConnectionFactory(factory, stageMetrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
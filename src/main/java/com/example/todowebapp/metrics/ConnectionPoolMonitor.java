@@ -0,0 +1,74 @@
+package com.example.todowebapp.metrics;
+
+import com.example.todowebapp.config.PoolSheddingProperties;
+import com.example.todowebapp.datasource.ReadWriteRoutingConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the live state of the R2DBC connection pools for load shedding and readiness: the primary's and,
+ * with read replicas, each replica's, keyed {@code primary} and {@code replica-<n>}. Any one pool backing up
+ * counts as overloaded, since requests routed to it queue all the same.
+ * Without a pool (pooling disabled) nothing is ever reported as overloaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolMonitor {
+
+    public static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica-";
+
+    private final ConnectionFactory connectionFactory;
+    private final PoolSheddingProperties properties;
+
+    public Map<String, PoolMetrics> metrics() {
+        final Map<String, PoolMetrics> metrics = new LinkedHashMap<>();
+        final ReadWriteRoutingConnectionFactory routing = ReadWriteRoutingConnectionFactory.find(connectionFactory);
+        if (routing == null) {
+            put(metrics, PRIMARY, connectionFactory);
+            return metrics;
+        }
+        put(metrics, PRIMARY, routing.unwrap());
+        final List<ConnectionFactory> replicas = routing.getReplicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            put(metrics, REPLICA + i, replicas.get(i));
+        }
+        return metrics;
+    }
+
+    /**
+     * Callers waiting on the most backed-up pool.
+     */
+    public int pendingAcquires() {
+        return metrics().values().stream().mapToInt(PoolMetrics::pendingAcquireSize).max().orElse(0);
+    }
+
+    public boolean isOverloaded() {
+        return properties.isEnabled() && pendingAcquires() > properties.getPendingThreshold();
+    }
+
+    private static void put(Map<String, PoolMetrics> metrics, String name, ConnectionFactory factory) {
+        final ConnectionPool pool = pool(factory);
+        if (pool != null) {
+            pool.getMetrics().ifPresent(poolMetrics -> metrics.put(name, poolMetrics));
+        }
+    }
+
+    private static ConnectionPool pool(Object candidate) {
+        if (candidate instanceof ConnectionPool pool) {
+            return pool;
+        }
+        if (candidate instanceof Wrapped<?> wrapped) {
+            return pool(wrapped.unwrap());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.todowebapp.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times stages of request handling into the {@value #METER} timer, tagged by stage, endpoint and outcome.
+ * <p>
+ * Stages often run before routing (security filter) or without direct access to the exchange (services),
+ * so samples taken during a request are parked on the exchange and recorded by {@link StageMetricsWebFilter}
+ * once the request completes and its matched route pattern is known.
+ */
+@Component
+@RequiredArgsConstructor
+public class StageMetrics {
+
+    public static final String METER = "todo.request.stage";
+    static final String EXCHANGE_CONTEXT_KEY = StageMetrics.class.getName() + ".EXCHANGE";
+    static final String PENDING_ATTRIBUTE = StageMetrics.class.getName() + ".PENDING";
+    private static final String NO_REQUEST = "none";
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Times a Mono from subscription to termination; outcome is success, empty, error or cancelled.
+     */
+    public <T> Mono<T> time(String stage, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            final long start = System.nanoTime();
+            final boolean[] emitted = new boolean[1];
+            return source
+                    .doOnNext(v -> emitted[0] = true)
+                    .doFinally(signal -> record(context, stage, outcome(signal, emitted[0]), System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Times a Flux from subscription to termination; outcome is success, empty, error or cancelled.
+     */
+    public <T> Flux<T> time(String stage, Flux<T> source) {
+        return Flux.deferContextual(context -> {
+            final long start = System.nanoTime();
+            final boolean[] emitted = new boolean[1];
+            return source
+                    .doOnNext(v -> emitted[0] = true)
+                    .doFinally(signal -> record(context, stage, outcome(signal, emitted[0]), System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Records a stage with an explicit outcome, attributed to the request carried in the Reactor context if any.
+     */
+    public void record(ContextView context, String stage, String outcome, long nanos) {
+        final ServerWebExchange exchange = context.getOrDefault(EXCHANGE_CONTEXT_KEY, null);
+        if (exchange == null) {
+            timer(stage, NO_REQUEST, outcome).record(nanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        record(exchange, stage, outcome, nanos);
+    }
+
+    /**
+     * Records a stage of the given request; deferred until the request completes.
+     */
+    public void record(ServerWebExchange exchange, String stage, String outcome, long nanos) {
+        final Queue<Sample> pending = exchange.getAttribute(PENDING_ATTRIBUTE);
+        if (pending == null) {
+            // not routed through StageMetricsWebFilter, or already flushed
+            timer(stage, endpoint(exchange), outcome).record(nanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        pending.add(new Sample(stage, outcome, nanos));
+    }
+
+    void begin(ServerWebExchange exchange) {
+        exchange.getAttributes().put(PENDING_ATTRIBUTE, new ConcurrentLinkedQueue<Sample>());
+    }
+
+    void flush(ServerWebExchange exchange) {
+        final Queue<Sample> pending = exchange.getAttribute(PENDING_ATTRIBUTE);
+        exchange.getAttributes().remove(PENDING_ATTRIBUTE);
+        if (pending == null) {
+            return;
+        }
+        final String endpoint = endpoint(exchange);
+        Sample sample;
+        while ((sample = pending.poll()) != null) {
+            timer(sample.stage, endpoint, sample.outcome).record(sample.nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String stage, String endpoint, String outcome) {
+        return Timer.builder(METER)
+                .description("Time spent in one stage of handling a request")
+                .tag("stage", stage)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    private static String endpoint(ServerWebExchange exchange) {
+        final Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        final String path = pattern instanceof PathPattern p ? p.getPatternString() : UNMATCHED;
+        return exchange.getRequest().getMethod().name() + " " + path;
+    }
+
+    private static String outcome(SignalType signal, boolean emitted) {
+        return switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> emitted ? "success" : "empty";
+        };
+    }
+
+    private record Sample(String stage, String outcome, long nanos) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todowebapp.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Outermost filter: exposes the exchange to {@link StageMetrics} through the Reactor context and records
+ * the stage samples collected while handling the request once it has completed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class StageMetricsWebFilter implements WebFilter {
+
+    private final StageMetrics stageMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        stageMetrics.begin(exchange);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(StageMetrics.EXCHANGE_CONTEXT_KEY, exchange))
+                .doFinally(signal -> stageMetrics.flush(exchange));
+    }
+}
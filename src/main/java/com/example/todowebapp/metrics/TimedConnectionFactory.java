@@ -0,0 +1,47 @@
+package com.example.todowebapp.metrics;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records how long callers wait for a connection as the {@value #STAGE} stage.
+ * Implements {@link Wrapped} so the pool underneath still gets its {@code r2dbc.pool.*} gauges.
+ */
+@RequiredArgsConstructor
+public class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+    static final String STAGE = "db.pool.acquire";
+
+    private final ConnectionFactory delegate;
+    private final StageMetrics stageMetrics;
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return stageMetrics.time(STAGE, Mono.from(delegate.create()));
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    /**
+     * Replaces the pool's {@code dispose} destroy method, which Spring now looks up on this wrapper.
+     */
+    public void dispose() {
+        if (delegate instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+}
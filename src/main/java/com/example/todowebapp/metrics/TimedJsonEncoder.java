@@ -0,0 +1,87 @@
+package com.example.todowebapp.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON encoder wrapper that times serialization of single-value bodies as the {@code serialize} stage.
+ * Only the {@code encodeValue} call is timed, not the wait for the value. Streams are delegated untouched,
+ * because their elements are serialized one by one as they arrive.
+ */
+@RequiredArgsConstructor
+public class TimedJsonEncoder implements HttpMessageEncoder<Object> {
+
+    static final String STAGE = "serialize";
+
+    private final HttpMessageEncoder<Object> delegate;
+    private final StageMetrics stageMetrics;
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        return delegate.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, @Nullable MimeType mimeType,
+                                   @Nullable Map<String, Object> hints) {
+        if (!(inputStream instanceof Mono<?> mono)) {
+            return delegate.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        return Flux.deferContextual(context -> mono
+                .map(value -> {
+                    final long start = System.nanoTime();
+                    try {
+                        final DataBuffer buffer = delegate.encodeValue(value, bufferFactory, elementType, mimeType, hints);
+                        stageMetrics.record(context, STAGE, "success", System.nanoTime() - start);
+                        return buffer;
+                    } catch (RuntimeException e) {
+                        stageMetrics.record(context, STAGE, "error", System.nanoTime() - start);
+                        throw e;
+                    }
+                })
+                .flux());
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        return delegate.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return delegate.getEncodableMimeTypes();
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes(ResolvableType elementType) {
+        return delegate.getEncodableMimeTypes(elementType);
+    }
+
+    @Override
+    public List<MediaType> getStreamingMediaTypes() {
+        return delegate.getStreamingMediaTypes();
+    }
+
+    @Override
+    public Map<String, Object> getEncodeHints(ResolvableType actualType, ResolvableType elementType,
+                                              @Nullable MediaType mediaType,
+                                              ServerHttpRequest request, ServerHttpResponse response) {
+        return delegate.getEncodeHints(actualType, elementType, mediaType, request, response);
+    }
+}
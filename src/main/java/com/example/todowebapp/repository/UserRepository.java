@@ -1,6 +1,8 @@
 package com.example.todowebapp.repository;
 
 import com.example.todowebapp.domain.entity.User;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
@@ -8,4 +10,22 @@ import reactor.core.publisher.Mono;
 @Repository
 public interface UserRepository extends R2dbcRepository<User, Long> {
     Mono<User> findByEmail(String email);
+
+    @Query("SELECT token_version FROM users WHERE id = :id")
+    Mono<Long> findTokenVersionById(Long id);
+
+    @Modifying
+    @Query("UPDATE users SET token_version = token_version + 1 WHERE id = :id")
+    Mono<Integer> incrementTokenVersion(Long id);
+
+    // todos_version is deliberately not mapped on User so that saving a user never rolls it back
+    @Query("SELECT todos_version FROM users WHERE id = :id")
+    Mono<Long> findTodosVersionById(Long id);
+
+    @Query("SELECT todos_version FROM users WHERE id = :id FOR UPDATE")
+    Mono<Long> lockTodosVersionById(Long id);
+
+    @Modifying
+    @Query("UPDATE users SET todos_version = todos_version + 1 WHERE id = :id")
+    Mono<Integer> incrementTodosVersion(Long id);
 }
@@ -22,6 +22,7 @@ public class AuthenticationUserDetails extends User {
     private final Long userId;
     private final UserRole userRole;
     private final boolean system;
+    private final long tokenVersion;
 
     @Builder(builderMethodName = "authBuilder")
     public AuthenticationUserDetails(final String username,
@@ -33,10 +34,12 @@ public class AuthenticationUserDetails extends User {
                                      final Collection<? extends GrantedAuthority> authorities,
                                      final Long userId,
                                      final UserRole userRole,
-                                     final boolean system) {
+                                     final boolean system,
+                                     final long tokenVersion) {
         super(username, password, enabled, accountNonExpired, credentialsNonExpired, accountNonLocked, authorities);
         this.userId = userId;
         this.userRole = userRole;
         this.system = system;
+        this.tokenVersion = tokenVersion;
     }
 }
@@ -1,47 +1,104 @@
 package com.example.todowebapp.security;
 
+import com.example.todowebapp.metrics.StageMetrics;
 import com.example.todowebapp.service.JwtService;
+import com.example.todowebapp.service.TokenVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
-import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-@Component
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * JWT authentication filter. Not a bean on purpose: it is added to the security chain only
+ * in {@link SecurityFilterConfig}, otherwise WebFlux would also run it as a global filter.
+ */
 @RequiredArgsConstructor
 public class CustomSecurityFilter implements WebFilter {
 
     private static final String BEARER = "Bearer ";
+    private static final String STAGE_VERIFY = "auth.jwt.verify";
+    private static final String STAGE_PRINCIPAL = "auth.principal.load";
     private final JwtService jwtService;
     private final ReactiveUserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final StageMetrics stageMetrics;
+    private final boolean stateless;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange,
                              WebFilterChain chain) {
         String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
         if (authHeader == null || !authHeader.startsWith(BEARER)) {
+            stageMetrics.record(exchange, STAGE_VERIFY, "absent", 0);
             return chain.filter(exchange); // no token -> continue
         }
 
         final String token = authHeader.substring(BEARER.length());
-        final String email = jwtService.getEmailFromToken(token);
-        if (email == null || !jwtService.isValidToken(token)) {
-            return chain.filter(exchange); // invalid -> continue unauthenticated
+        final long verifyStart = System.nanoTime();
+        final VerifiedToken verified = jwtService.verify(token).orElse(null);
+        final boolean valid = verified != null && verified.subject() != null;
+        stageMetrics.record(exchange, STAGE_VERIFY, valid ? "valid" : "invalid", System.nanoTime() - verifyStart);
+        if (!valid) {
+            return chain.filter(exchange); // invalid or expired -> continue unauthenticated
         }
 
-        // load user reactively and set Authentication into Reactor Context
-        return userDetailsService.findByUsername(email)
+        // the chain is selected first and subscribed once, so it never runs twice
+        return stageMetrics.time(STAGE_PRINCIPAL, loadPrincipal(verified))
                 .map(this::asAuth)
-                .flatMap(auth -> chain.filter(exchange)
+                .map(auth -> chain.filter(exchange)
                         .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)))
-                .switchIfEmpty(chain.filter(exchange));
+                .switchIfEmpty(Mono.fromSupplier(() -> chain.filter(exchange)))
+                .flatMap(Function.identity());
+    }
+
+    private Mono<UserDetails> loadPrincipal(VerifiedToken verified) {
+        if (verified.userId() == null || verified.tokenVersion() == null) {
+            return Mono.empty(); // issued without a version, so it cannot be checked against revocations
+        }
+        // either way the token is refused once the user's tokens were revoked since issue
+        return tokenVersionService.currentVersion(verified.userId())
+                .filter(current -> verified.tokenVersion() >= current)
+                .flatMap(current -> stateless && verified.isStateless()
+                        // stateless: trust the verified claims
+                        ? Mono.just(fromClaims(verified))
+                        // load user reactively from the user details service
+                        : userDetailsService.findByUsername(verified.subject()));
+    }
+
+    private UserDetails fromClaims(VerifiedToken verified) {
+        final List<GrantedAuthority> authorities = verified.privileges().stream()
+                .map(CustomSecurityFilter::toAuthority)
+                .toList();
+        return AuthenticationUserDetails.authBuilder()
+                .userId(verified.userId())
+                .username(verified.subject())
+                .password("")
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .userRole(verified.userRole())
+                .system(verified.system())
+                .authorities(authorities)
+                .tokenVersion(verified.tokenVersion())
+                .build();
+    }
+
+    private static GrantedAuthority toAuthority(String name) {
+        final GrantedAuthority shared = RolePrivilegeCatalog.authority(name);
+        return shared != null ? shared : new SimpleGrantedAuthority(name);
     }
 
     private Authentication asAuth(UserDetails user) {
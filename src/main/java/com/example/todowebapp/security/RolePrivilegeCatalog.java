@@ -0,0 +1,150 @@
+package com.example.todowebapp.security;
+
+import com.example.todowebapp.datasource.ReadOnlyRouting;
+import com.example.todowebapp.domain.dao.RoleAuthorityRow;
+import com.example.todowebapp.domain.dao.RolePrivilegeDao;
+import com.example.todowebapp.domain.entity.Role;
+import com.example.todowebapp.domain.enumerated.UserPrivilege;
+import com.example.todowebapp.domain.enumerated.UserRole;
+import com.example.todowebapp.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory view of the roles, privileges and roles_privileges tables.
+ * The tables are seed data, so the catalog is loaded once at startup and only reloaded on demand
+ * (see {@link RolePrivilegeCatalogEndpoint}). Authority collections are shared and pre-sorted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RolePrivilegeCatalog {
+
+    private static final Map<UserPrivilege, GrantedAuthority> AUTHORITIES = internAuthorities();
+    private static final Map<String, GrantedAuthority> AUTHORITIES_BY_NAME = AUTHORITIES.values().stream()
+            .collect(Collectors.toUnmodifiableMap(GrantedAuthority::getAuthority, a -> a));
+
+    private final RoleRepository roleRepository;
+    private final RolePrivilegeDao rolePrivilegeDao;
+
+    private final AtomicReference<Mono<Snapshot>> current = new AtomicReference<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        snapshot().subscribe(
+                s -> log.info("Loaded role/privilege catalog: {} roles", s.roles().size()),
+                e -> log.error("Failed to load role/privilege catalog", e));
+    }
+
+    /**
+     * Current snapshot; the first caller triggers the load, failures are not cached.
+     */
+    public Mono<Snapshot> snapshot() {
+        final Mono<Snapshot> existing = current.get();
+        if (existing != null) {
+            return existing;
+        }
+        final Mono<Snapshot> loading = load()
+                .cache(s -> Duration.ofMillis(Long.MAX_VALUE), e -> Duration.ZERO, () -> Duration.ZERO);
+        return current.compareAndSet(null, loading) ? loading : current.get();
+    }
+
+    /**
+     * Reload from the database and atomically swap the snapshot.
+     */
+    public Mono<Snapshot> refresh() {
+        return load().doOnNext(s -> {
+            current.set(Mono.just(s));
+            log.info("Refreshed role/privilege catalog: {} roles", s.roles().size());
+        });
+    }
+
+    public static GrantedAuthority authority(final UserPrivilege privilege) {
+        return AUTHORITIES.get(privilege);
+    }
+
+    /**
+     * Shared authority for a privilege name, or {@code null} when the name is not a known privilege.
+     */
+    public static GrantedAuthority authority(final String privilege) {
+        return privilege == null ? null : AUTHORITIES_BY_NAME.get(privilege);
+    }
+
+    private Mono<Snapshot> load() {
+        return ReadOnlyRouting.readOnly(null, Mono.zip(
+                        roleRepository.findAll().collectList(),
+                        rolePrivilegeDao.findAllAuthorities().collectList())
+                .map(t -> Snapshot.of(t.getT1(), t.getT2())));
+    }
+
+    private static Map<UserPrivilege, GrantedAuthority> internAuthorities() {
+        final Map<UserPrivilege, GrantedAuthority> map = new EnumMap<>(UserPrivilege.class);
+        for (UserPrivilege privilege : UserPrivilege.values()) {
+            map.put(privilege, new SimpleGrantedAuthority(privilege.name()));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    public record Snapshot(Map<Long, UserRole> roles,
+                           Map<UserRole, Long> roleIds,
+                           Map<Long, List<GrantedAuthority>> authorities) {
+
+        public UserRole role(final Long roleId) {
+            return roleId == null ? null : roles.get(roleId);
+        }
+
+        public Long roleId(final UserRole userRole) {
+            return roleIds.get(userRole);
+        }
+
+        public List<GrantedAuthority> authorities(final Long roleId) {
+            return roleId == null ? List.of() : authorities.getOrDefault(roleId, List.of());
+        }
+
+        static Snapshot of(final List<Role> roles, final List<RoleAuthorityRow> links) {
+            final Map<Long, UserRole> byId = roles.stream()
+                    .collect(Collectors.toUnmodifiableMap(Role::getId, Role::getUserRole));
+            final Map<UserRole, Long> idsByRole = roles.stream()
+                    .collect(Collectors.toUnmodifiableMap(Role::getUserRole, Role::getId, (a, b) -> a));
+
+            final Map<Long, List<GrantedAuthority>> grouped = new HashMap<>();
+            for (RoleAuthorityRow link : links) {
+                final UserPrivilege privilege = toPrivilege(link.getUserPrivilege());
+                if (privilege != null) {
+                    grouped.computeIfAbsent(link.getRoleId(), id -> new ArrayList<>()).add(authority(privilege));
+                }
+            }
+            final Map<Long, List<GrantedAuthority>> sorted = grouped.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> e.getValue().stream()
+                            .sorted(Comparator.comparing(GrantedAuthority::getAuthority))
+                            .toList()));
+            return new Snapshot(byId, idsByRole, sorted);
+        }
+
+        private static UserPrivilege toPrivilege(final String name) {
+            try {
+                return UserPrivilege.valueOf(name);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                log.warn("Ignoring unknown privilege '{}' in roles_privileges", name);
+                return null;
+            }
+        }
+    }
+}
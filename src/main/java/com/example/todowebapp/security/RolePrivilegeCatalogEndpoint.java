@@ -0,0 +1,47 @@
+package com.example.todowebapp.security;
+
+import com.example.todowebapp.security.impl.CachingUserDetailsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code GET /actuator/rolecatalog} shows the loaded catalog,
+ * {@code POST /actuator/rolecatalog} reloads it after the seed tables were changed and drops the cached
+ * principals, which carry the roles and authorities of the previous snapshot.
+ */
+@Component
+@Endpoint(id = "rolecatalog")
+@RequiredArgsConstructor
+public class RolePrivilegeCatalogEndpoint {
+
+    private final RolePrivilegeCatalog catalog;
+    private final CachingUserDetailsService principalCache;
+
+    @ReadOperation
+    public Mono<Map<String, Object>> catalog() {
+        return catalog.snapshot().map(this::describe);
+    }
+
+    @WriteOperation
+    public Mono<Map<String, Object>> refresh() {
+        return catalog.refresh()
+                .doOnNext(snapshot -> principalCache.evictAll())
+                .map(this::describe);
+    }
+
+    private Map<String, Object> describe(RolePrivilegeCatalog.Snapshot snapshot) {
+        final Map<String, Object> roles = new TreeMap<>();
+        snapshot.roles().forEach((id, role) -> roles.put(role.name(), Map.of(
+                "id", id,
+                "authorities", snapshot.authorities(id).stream().map(GrantedAuthority::getAuthority).toList())));
+        return Map.of("roles", roles);
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.todowebapp.security;
 
+import com.example.todowebapp.api.TodoController;
 import com.example.todowebapp.config.CorsProperties;
+import com.example.todowebapp.config.StatelessAuthProperties;
+import com.example.todowebapp.metrics.StageMetrics;
+import com.example.todowebapp.service.JwtService;
+import com.example.todowebapp.service.TokenVersionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.context.WebServerApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,12 +15,17 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.util.matcher.AndServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableWebFluxSecurity
@@ -22,8 +33,14 @@ import java.util.Arrays;
 @RequiredArgsConstructor
 public class SecurityFilterConfig {
 
+    private static final String MANAGEMENT_SERVER = "management";
+
     private final CorsProperties corsProperties;
-    private final CustomSecurityFilter customSecurityFilter;
+    private final JwtService jwtService;
+    private final ReactiveUserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final StatelessAuthProperties statelessAuthProperties;
+    private final StageMetrics stageMetrics;
     private final EntryPointReactive entryPoint;
     private final AccessDeniedHandlerReactive accessDeniedHandler;
 
@@ -38,8 +55,9 @@ public class SecurityFilterConfig {
                 "Access-Control-Allow-Origin","Access-Control-Allow-Headers",
                 "x-auth-token","x-app-id","Origin","Accept","X-Requested-With",
                 "Access-Control-Request-Method","Access-Control-Request-Headers",
-                "Authorization"
+                "Authorization", "If-Match", "If-None-Match"
         ));
+        cfg.setExposedHeaders(List.of(TodoController.NEXT_CURSOR_HEADER, "ETag"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", cfg);
         return new CorsWebFilter(source);
@@ -64,6 +82,10 @@ public class SecurityFilterConfig {
                                 "/webjars/**"
                         ).permitAll()
                         .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Prometheus scrapes and liveness/readiness probes carry no user token; they are only
+                        // let through on the management port, which is not exposed publicly
+                        .matchers(onManagementPort(ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET,
+                                "/actuator/prometheus", "/actuator/health", "/actuator/health/**"))).permitAll()
                         .anyExchange().authenticated()
                 )
 
@@ -73,8 +95,24 @@ public class SecurityFilterConfig {
                 )
 
                 // place JWT filter at the authentication phase
-                .addFilterAt(customSecurityFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAt(customSecurityFilter(), SecurityWebFiltersOrder.AUTHENTICATION)
 
                 .build();
     }
+
+    /**
+     * Matches only exchanges served by the separate management server ({@code management.server.port}).
+     */
+    private static ServerWebExchangeMatcher onManagementPort(ServerWebExchangeMatcher matcher) {
+        final ServerWebExchangeMatcher managementServer = exchange ->
+                WebServerApplicationContext.hasServerNamespace(exchange.getApplicationContext(), MANAGEMENT_SERVER)
+                        ? ServerWebExchangeMatcher.MatchResult.match()
+                        : ServerWebExchangeMatcher.MatchResult.notMatch();
+        return new AndServerWebExchangeMatcher(managementServer, matcher);
+    }
+
+    private CustomSecurityFilter customSecurityFilter() {
+        return new CustomSecurityFilter(jwtService, userDetailsService, tokenVersionService,
+                stageMetrics, statelessAuthProperties.isEnabled());
+    }
 }
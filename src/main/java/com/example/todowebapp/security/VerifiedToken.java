@@ -0,0 +1,29 @@
+package com.example.todowebapp.security;
+
+import com.example.todowebapp.domain.enumerated.UserRole;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of a single signature and expiry verification of a JWT.
+ * The principal fields are only present on tokens that carry the stateless claims.
+ */
+public record VerifiedToken(String subject,
+                            Instant expiresAt,
+                            Claims claims,
+                            Long userId,
+                            UserRole userRole,
+                            List<String> privileges,
+                            Long tokenVersion,
+                            boolean system) {
+
+    public boolean isExpired(final Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    public boolean isStateless() {
+        return userId != null && userRole != null && privileges != null && tokenVersion != null;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.todowebapp.security.impl;
+
+import com.example.todowebapp.config.PrincipalCacheProperties;
+import com.example.todowebapp.security.AuthenticationUserDetails;
+import com.example.todowebapp.service.InvalidationEvent;
+import com.example.todowebapp.service.InvalidationListener;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded principal cache in front of {@link UserDetailsServiceImpl}.
+ * Fully built principals are kept by email so authenticated requests skip the database
+ * until the entry expires, is evicted by size, or is invalidated on a user change.
+ * <p>
+ * The cache holds the in-flight load rather than its result, so invalidating an email drops a pending load
+ * too. Users known only by id are found through an index of the loaded principals; a load still running when
+ * some user is evicted by id is not kept, as it may have read that user's old row.
+ */
+@Slf4j
+@Service
+@Primary
+public class CachingUserDetailsService implements ReactiveUserDetailsService, InvalidationListener {
+
+    private static final String CACHE_NAME = "principals";
+
+    private final UserDetailsServiceImpl delegate;
+    private final AsyncCache<String, UserDetails> cache;
+    private final Map<Long, String> emailsByUserId = new ConcurrentHashMap<>();
+    private final AtomicLong userEvictions = new AtomicLong();
+    private final boolean enabled;
+
+    public CachingUserDetailsService(final UserDetailsServiceImpl delegate,
+                                     final PrincipalCacheProperties properties,
+                                     final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaximumSize())
+                .removalListener(this::unindex)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(final String email) {
+        if (!enabled) {
+            return delegate.findByUsername(email);
+        }
+        // the load is shared by every caller, so one caller cancelling must not cancel it
+        return Mono.fromFuture(() -> cache.get(email, (key, executor) -> load(key)), true);
+    }
+
+    private CompletableFuture<UserDetails> load(final String email) {
+        final long evictions = userEvictions.get();
+        final CompletableFuture<UserDetails> load = delegate.findByUsername(email).toFuture();
+        load.thenAccept(details -> {
+            // indexed before checking for evictions, which bump the counter before reading the index
+            if (details instanceof AuthenticationUserDetails auth) {
+                emailsByUserId.put(auth.getUserId(), email);
+            }
+            if (userEvictions.get() != evictions) {
+                cache.asMap().remove(email, load);
+            }
+        });
+        return load;
+    }
+
+    /**
+     * Drop the cached principal of a single user, e.g. after a role or password change.
+     */
+    public void evict(final String email) {
+        if (email != null) {
+            log.debug("Evicting cached principal for {}", email);
+            cache.synchronous().invalidate(email);
+        }
+    }
+
+    /**
+     * Drop the cached principal of a user known only by id.
+     */
+    public void evictUser(final Long userId) {
+        userEvictions.incrementAndGet();
+        evict(emailsByUserId.get(userId));
+    }
+
+    public void evictAll() {
+        userEvictions.incrementAndGet();
+        cache.synchronous().invalidateAll();
+    }
+
+    private void unindex(final String email, final UserDetails details, final RemovalCause cause) {
+        if (details instanceof AuthenticationUserDetails auth) {
+            // kept while the email is cached again, e.g. reloaded right after an eviction
+            emailsByUserId.computeIfPresent(auth.getUserId(), (userId, indexed) ->
+                    indexed.equals(email) && !cache.asMap().containsKey(email) ? null : indexed);
+        }
+    }
+
+    @Override
+    public void onInvalidation(final InvalidationEvent event) {
+        if (event.entity() == InvalidationEvent.Entity.USER) {
+            evictUser(event.userId());
+        }
+    }
+
+    @Override
+    public void onFlush() {
+        evictAll();
+    }
+}
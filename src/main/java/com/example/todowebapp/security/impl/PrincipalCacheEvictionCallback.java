@@ -0,0 +1,39 @@
+package com.example.todowebapp.security.impl;
+
+import com.example.todowebapp.domain.entity.User;
+import com.example.todowebapp.service.TodoChangeNotifier;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.r2dbc.mapping.event.AfterSaveCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidates the cached principal whenever a {@link User} row is written,
+ * so role and password changes are visible on the next request. The eviction runs once the
+ * surrounding transaction commits; evicting earlier would let a concurrent lookup re-cache the old row.
+ */
+@Component
+public class PrincipalCacheEvictionCallback implements AfterSaveCallback<User> {
+
+    // resolved lazily: the cache depends on the repositories this callback is registered with
+    private final ObjectProvider<CachingUserDetailsService> principalCache;
+    private final ObjectProvider<TodoChangeNotifier> notifier;
+
+    public PrincipalCacheEvictionCallback(final ObjectProvider<CachingUserDetailsService> principalCache,
+                                          final ObjectProvider<TodoChangeNotifier> notifier) {
+        this.principalCache = principalCache;
+        this.notifier = notifier;
+    }
+
+    @Override
+    public Publisher<User> onAfterSave(final User entity,
+                                       final OutboundRow outboundRow,
+                                       final SqlIdentifier table) {
+        final String email = entity.getEmail();
+        return notifier.getObject()
+                .afterCommit(() -> principalCache.getObject().evict(email))
+                .thenReturn(entity);
+    }
+}
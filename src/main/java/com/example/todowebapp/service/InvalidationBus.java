@@ -0,0 +1,10 @@
+package com.example.todowebapp.service;
+
+import reactor.core.publisher.Mono;
+
+public interface InvalidationBus {
+    /**
+     * Announces a change to the other instances. Inside a transaction the event is only delivered on commit.
+     */
+    Mono<Void> publish(InvalidationEvent event);
+}
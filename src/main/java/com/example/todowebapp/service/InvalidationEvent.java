@@ -0,0 +1,49 @@
+package com.example.todowebapp.service;
+
+/**
+ * Cluster-wide notice that cached state of a user changed. Encoded as {@code node:entity:userId:version[:email]}
+ * to stay far below the NOTIFY payload limit. The email is only sent when the change concerns lookups by email,
+ * e.g. a new registration; it comes last because it may itself contain colons.
+ */
+public record InvalidationEvent(Long userId, Entity entity, long version, String email) {
+
+    public InvalidationEvent(Long userId, Entity entity, long version) {
+        this(userId, entity, version, null);
+    }
+
+    public enum Entity {
+        /**
+         * The user's todos; version is the todo list version.
+         */
+        TODOS,
+        /**
+         * The user row, principal or tokens; version is the token version.
+         */
+        USER
+    }
+
+    public String encode(String node) {
+        final String encoded = node + ':' + entity.name().charAt(0) + ':' + userId + ':' + version;
+        return email != null ? encoded + ':' + email : encoded;
+    }
+
+    /**
+     * Inverse of {@link #encode}; the origin node is returned separately so own events can be skipped.
+     */
+    public static Decoded decode(String payload) {
+        final String[] parts = payload.split(":", 5);
+        if (parts.length < 4) {
+            throw new IllegalArgumentException("Malformed invalidation event: " + payload);
+        }
+        final Entity entity = switch (parts[1]) {
+            case "T" -> Entity.TODOS;
+            case "U" -> Entity.USER;
+            default -> throw new IllegalArgumentException("Unknown invalidation entity: " + payload);
+        };
+        return new Decoded(parts[0], new InvalidationEvent(Long.valueOf(parts[2]), entity, Long.parseLong(parts[3]),
+                parts.length == 5 ? parts[4] : null));
+    }
+
+    public record Decoded(String node, InvalidationEvent event) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.todowebapp.service;
+
+/**
+ * Holder of per-user cached state that must follow writes made on other instances.
+ */
+public interface InvalidationListener {
+    void onInvalidation(InvalidationEvent event);
+
+    /**
+     * Notifications may have been missed (e.g. the listening connection dropped); drop everything.
+     */
+    void onFlush();
+}
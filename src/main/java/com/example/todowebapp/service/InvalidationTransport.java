@@ -0,0 +1,17 @@
+package com.example.todowebapp.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Carries encoded {@link InvalidationEvent}s between instances.
+ */
+public interface InvalidationTransport {
+    Mono<Void> send(String payload);
+
+    /**
+     * Payloads sent by any instance, including this one, for as long as the connection lives; the flux
+     * terminates when it drops. {@code onListening} runs once nothing sent from then on can be missed.
+     */
+    Flux<String> listen(Runnable onListening);
+}
@@ -1,11 +1,19 @@
 package com.example.todowebapp.service;
 
+import com.example.todowebapp.security.VerifiedToken;
 import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Optional;
+
 public interface JwtService {
     String getEmailFromToken(String token);
     Claims getAllInfoFromToken(String token);
     String generateToken(UserDetails userDetails);
     boolean isValidToken(String token);
+
+    /**
+     * Parse and verify the token once; empty when the signature is invalid or the token expired.
+     */
+    Optional<VerifiedToken> verify(String token);
 }
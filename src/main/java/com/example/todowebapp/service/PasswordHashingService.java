@@ -0,0 +1,25 @@
+package com.example.todowebapp.service;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+public interface PasswordHashingService {
+    Mono<String> encode(CharSequence rawPassword);
+    Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword);
+
+    /**
+     * Bounded scheduler the hashing runs on; for components that hop threads themselves.
+     */
+    Scheduler scheduler();
+
+    /**
+     * Password encoder that records hash durations; only call it on {@link #scheduler()}.
+     */
+    PasswordEncoder timedEncoder();
+
+    /**
+     * Map a rejection by the saturated scheduler to a 503 with Retry-After.
+     */
+    <T> Mono<T> withAdmissionControl(Mono<T> mono);
+}
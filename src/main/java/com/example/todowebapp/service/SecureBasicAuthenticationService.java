@@ -8,4 +8,5 @@ public interface SecureBasicAuthenticationService {
     Mono<UserDTO> getCurrentUser(AuthenticationUserDetails principal);
     Mono<Void> register(RegisterData data);
     Mono<LoginResponseDTO> login(LoginData data);
+    Mono<Void> revokeTokens(AuthenticationUserDetails principal);
 }
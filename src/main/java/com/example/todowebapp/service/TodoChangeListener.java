@@ -0,0 +1,9 @@
+package com.example.todowebapp.service;
+
+/**
+ * Notified once the transaction that changed a user's todos has committed.
+ * Implementations must be quick and must not throw; they run on the committing thread.
+ */
+public interface TodoChangeListener {
+    void onTodosChanged(Long userId);
+}
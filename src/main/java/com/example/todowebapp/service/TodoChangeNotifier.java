@@ -0,0 +1,16 @@
+package com.example.todowebapp.service;
+
+import reactor.core.publisher.Mono;
+
+public interface TodoChangeNotifier {
+    /**
+     * Schedules {@link TodoChangeListener}s for after the current transaction commits,
+     * or runs them right away when there is no transaction.
+     */
+    Mono<Void> todosChanged(Long userId);
+
+    /**
+     * Runs the action after the current transaction commits, or right away when there is no transaction.
+     */
+    Mono<Void> afterCommit(Runnable action);
+}
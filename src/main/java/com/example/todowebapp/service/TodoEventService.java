@@ -0,0 +1,20 @@
+package com.example.todowebapp.service;
+
+import com.example.todowebapp.domain.dto.TodoChangeEventDTO;
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.enumerated.TodoChangeType;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface TodoEventService {
+    /**
+     * Emits the change to the user's subscribers once the current transaction commits.
+     */
+    Mono<Void> publish(Long userId, TodoChangeType type, TodoDTO todo);
+
+    /**
+     * Live change feed of a user, resumed after {@code lastEventId} when it is still in the replay buffer.
+     */
+    Flux<ServerSentEvent<TodoChangeEventDTO>> subscribe(Long userId, String lastEventId);
+}
@@ -0,0 +1,17 @@
+package com.example.todowebapp.service;
+
+import com.example.todowebapp.domain.dto.TodoPageDTO;
+
+/**
+ * Per-user cache of the unfiltered todo listing, tagged with the todo list version it was read at.
+ */
+public interface TodoListCache {
+    /**
+     * Cached listing if it was read at the given version, otherwise null.
+     */
+    TodoPageDTO get(Long userId, long version);
+
+    void put(Long userId, long version, TodoPageDTO page);
+
+    boolean isEnabled();
+}
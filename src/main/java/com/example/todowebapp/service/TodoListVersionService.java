@@ -0,0 +1,17 @@
+package com.example.todowebapp.service;
+
+import reactor.core.publisher.Mono;
+
+public interface TodoListVersionService {
+    Mono<Long> currentVersion(Long userId);
+    /**
+     * Increments the version and emits the new value, which the writes of the same transaction are stamped with.
+     */
+    Mono<Long> bump(Long userId);
+
+    /**
+     * Takes the row lock {@link #bump} would without changing the version, for a write that only knows whether
+     * it changed anything once it ran; it bumps afterwards if it did.
+     */
+    Mono<Void> lock(Long userId);
+}
@@ -1,15 +1,25 @@
 package com.example.todowebapp.service;
 
+import com.example.todowebapp.domain.dto.TodoBatchRequestDTO;
+import com.example.todowebapp.domain.dto.TodoBatchResultDTO;
+import com.example.todowebapp.domain.dto.TodoChangesDTO;
 import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.dto.TodoPageDTO;
+import com.example.todowebapp.domain.dto.TodoQuery;
 import com.example.todowebapp.security.AuthenticationUserDetails;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Set;
 
 public interface TodoService {
-    Flux<TodoDTO> getTodos(AuthenticationUserDetails userDetails);
+    Mono<TodoPageDTO> getTodos(AuthenticationUserDetails userDetails, TodoQuery query);
+    Mono<Long> getTodosVersion(AuthenticationUserDetails userDetails);
+    Flux<TodoDTO> streamTodos(AuthenticationUserDetails userDetails, TodoQuery query);
+    Mono<TodoChangesDTO> getChanges(AuthenticationUserDetails userDetails, String syncToken);
     Mono<TodoDTO> createTodo(TodoDTO todo, AuthenticationUserDetails userDetails);
-    Mono<TodoDTO> updateTodo(TodoDTO todo, AuthenticationUserDetails userDetails);
+    Mono<TodoDTO> updateTodo(TodoDTO todo, Long expectedVersion, AuthenticationUserDetails userDetails);
     Flux<TodoDTO> deleteTodos(Set<Long> ids, AuthenticationUserDetails userDetails);
+    Mono<List<TodoBatchResultDTO>> batchTodos(TodoBatchRequestDTO request, AuthenticationUserDetails userDetails);
 }
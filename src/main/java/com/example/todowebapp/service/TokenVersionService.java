@@ -0,0 +1,8 @@
+package com.example.todowebapp.service;
+
+import reactor.core.publisher.Mono;
+
+public interface TokenVersionService {
+    Mono<Long> currentVersion(Long userId);
+    Mono<Void> revokeTokens(Long userId);
+}
@@ -0,0 +1,10 @@
+package com.example.todowebapp.service;
+
+import reactor.core.publisher.Mono;
+
+public interface TombstoneCompactionService {
+    /**
+     * Drops todo tombstones past their retention and emits how many were removed.
+     */
+    Mono<Long> compact();
+}
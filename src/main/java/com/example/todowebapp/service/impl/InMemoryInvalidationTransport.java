@@ -0,0 +1,48 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.service.InvalidationTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loopback transport for a single JVM: several buses sharing one instance behave like instances sharing a database.
+ * Sends are delivered immediately, not on commit.
+ */
+@Service
+@ConditionalOnProperty(prefix = "todo.invalidation", name = "transport", havingValue = "in-memory")
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+
+    private static final Duration EMIT_TIMEOUT = Duration.ofSeconds(1);
+
+    private final AtomicReference<Sinks.Many<String>> current = new AtomicReference<>(newSink());
+
+    @Override
+    public Mono<Void> send(final String payload) {
+        return Mono.fromRunnable(() -> current.get().emitNext(payload, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT)));
+    }
+
+    @Override
+    public Flux<String> listen(final Runnable onListening) {
+        return Flux.defer(() -> {
+            final Sinks.Many<String> sink = current.get();
+            return sink.asFlux().doOnSubscribe(s -> onListening.run());
+        });
+    }
+
+    /**
+     * Drops the connection of every listener, as a database restart would.
+     */
+    public void disconnect() {
+        current.getAndSet(newSink()).tryEmitComplete();
+    }
+
+    private static Sinks.Many<String> newSink() {
+        return Sinks.many().multicast().directBestEffort();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.InvalidationProperties;
+import com.example.todowebapp.service.InvalidationBus;
+import com.example.todowebapp.service.InvalidationEvent;
+import com.example.todowebapp.service.InvalidationListener;
+import com.example.todowebapp.service.InvalidationTransport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cluster-wide cache invalidation. Events are published through the transport and applied on every other
+ * instance after merging bursts; each time listening (re)starts, all local caches are flushed because
+ * notifications sent while disconnected are lost.
+ */
+@Slf4j
+@Service
+public class InvalidationBusImpl implements InvalidationBus {
+
+    private final InvalidationTransport transport;
+    private final ObjectProvider<InvalidationListener> listeners;
+    private final InvalidationProperties properties;
+    private final String node = UUID.randomUUID().toString().substring(0, 8);
+    private final Counter received;
+    private final Counter flushes;
+    private volatile Disposable subscription;
+
+    public InvalidationBusImpl(final ObjectProvider<InvalidationTransport> transport,
+                               final ObjectProvider<InvalidationListener> listeners,
+                               final InvalidationProperties properties,
+                               final MeterRegistry meterRegistry) {
+        this.transport = transport.getIfAvailable();
+        this.listeners = listeners;
+        this.properties = properties;
+        this.received = Counter.builder("cache.invalidation.received")
+                .description("Invalidation events from other instances")
+                .register(meterRegistry);
+        this.flushes = Counter.builder("cache.invalidation.flushes")
+                .description("Full cache flushes after (re)connecting the invalidation listener")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> publish(final InvalidationEvent event) {
+        if (transport == null) {
+            return Mono.empty();
+        }
+        return transport.send(event.encode(node));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (transport == null || subscription != null) {
+            return;
+        }
+        subscription = Flux.defer(() -> transport.listen(this::flush))
+                .mapNotNull(this::decode)
+                .filter(decoded -> !node.equals(decoded.node()))
+                .map(InvalidationEvent.Decoded::event)
+                .bufferTimeout(properties.getCoalesceMaxEvents(), properties.getCoalesceWindow())
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(this::apply)
+                // a completed listen means the connection is gone, as much as an error does
+                .concatWith(Mono.error(() -> new IllegalStateException("Invalidation listener disconnected")))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.getReconnectMinBackoff())
+                        .maxBackoff(properties.getReconnectMaxBackoff())
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Invalidation listener lost, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        final Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private void apply(final List<InvalidationEvent> batch) {
+        received.increment(batch.size());
+        for (InvalidationEvent event : coalesce(batch)) {
+            listeners.orderedStream().forEach(listener -> {
+                try {
+                    listener.onInvalidation(event);
+                } catch (RuntimeException e) {
+                    log.warn("Invalidation listener {} failed for {}", listener.getClass().getSimpleName(), event, e);
+                }
+            });
+        }
+    }
+
+    private void flush() {
+        flushes.increment();
+        listeners.orderedStream().forEach(InvalidationListener::onFlush);
+    }
+
+    private InvalidationEvent.Decoded decode(final String payload) {
+        try {
+            return InvalidationEvent.decode(payload);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring invalidation payload {}: {}", payload, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * One event per user and entity, with the highest version seen and any email one of them carried.
+     */
+    static Collection<InvalidationEvent> coalesce(final List<InvalidationEvent> batch) {
+        final Map<String, InvalidationEvent> merged = new LinkedHashMap<>();
+        for (InvalidationEvent event : batch) {
+            merged.merge(event.entity() + ":" + event.userId(), event, InvalidationBusImpl::merge);
+        }
+        return merged.values();
+    }
+
+    private static InvalidationEvent merge(final InvalidationEvent a, final InvalidationEvent b) {
+        final InvalidationEvent latest = a.version() >= b.version() ? a : b;
+        final String email = a.email() != null ? a.email() : b.email();
+        return new InvalidationEvent(latest.userId(), latest.entity(), latest.version(), email);
+    }
+}
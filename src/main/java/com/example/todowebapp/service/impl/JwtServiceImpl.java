@@ -1,34 +1,90 @@
 package com.example.todowebapp.service.impl;
 
+import com.example.todowebapp.domain.enumerated.UserRole;
+import com.example.todowebapp.security.AuthenticationUserDetails;
+import com.example.todowebapp.security.VerifiedToken;
 import com.example.todowebapp.service.JwtService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtServiceImpl implements JwtService {
 
+    // claims that let the filter build the principal without a database lookup
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String PRIVILEGES_CLAIM = "privileges";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+    private static final String SYSTEM_CLAIM = "sys";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration-time}")
     private int expirationTime;
 
+    @Value("${jwt.verified-cache.maximum-size:10000}")
+    private long verifiedCacheMaximumSize;
+
+    @Value("${jwt.verified-cache.ttl:5m}")
+    private Duration verifiedCacheTtl;
+
+    // derived once from the secret; both are immutable and thread-safe
+    private SecretKey key;
+    private JwtParser parser;
+
+    // recently verified tokens keyed by SHA-256 digest, never kept past the token's own expiry
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfter(new TokenExpiry(verifiedCacheTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verified-tokens");
+    }
+
     @Override
     public String getEmailFromToken(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).map(VerifiedToken::subject).orElse(null);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> resolveClaims) {
@@ -38,22 +94,22 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public Claims getAllInfoFromToken(String token) {
-        final SecretKey key = getKey();
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token).getPayload();
-    }
-
-    private SecretKey getKey() {
-        final byte[] array = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(array);
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     @Override
     public String generateToken(UserDetails userDetails) {
         final Map<String, Object> map = new HashMap<>();
         map.put("roles", userDetails.getAuthorities());
+        if (userDetails instanceof AuthenticationUserDetails details) {
+            map.put(USER_ID_CLAIM, details.getUserId());
+            map.put(ROLE_CLAIM, details.getUserRole() != null ? details.getUserRole().name() : null);
+            map.put(PRIVILEGES_CLAIM, details.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList());
+            map.put(TOKEN_VERSION_CLAIM, details.getTokenVersion());
+            map.put(SYSTEM_CLAIM, details.isSystem());
+        }
         return generate(map, userDetails);
     }
 
@@ -64,14 +120,115 @@ public class JwtServiceImpl implements JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getKey(), Jwts.SIG.HS256)
+                .signWith(key, Jwts.SIG.HS256)
                 .compact();
     }
 
     @Override
     public boolean isValidToken(String token) {
-        final Claims claims = getAllInfoFromToken(token);
-        final Date expirationDate = claims.getExpiration();
-        return !expirationDate.before(new Date());
+        return verify(token).isPresent();
+    }
+
+    @Override
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        final Instant now = Instant.now();
+        final String digest = digest(token);
+
+        final VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached.isExpired(now) ? Optional.empty() : Optional.of(cached);
+        }
+
+        final Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        final VerifiedToken verified = toVerifiedToken(claims);
+        if (verified.isExpired(now)) {
+            return Optional.empty();
+        }
+        verifiedTokens.put(digest, verified);
+        return Optional.of(verified);
+    }
+
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        final Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                expiration != null ? expiration.toInstant() : null,
+                claims,
+                asLong(claims.get(USER_ID_CLAIM)),
+                asUserRole(claims.get(ROLE_CLAIM)),
+                asStringList(claims.get(PRIVILEGES_CLAIM)),
+                asLong(claims.get(TOKEN_VERSION_CLAIM)),
+                Boolean.TRUE.equals(claims.get(SYSTEM_CLAIM)));
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private static UserRole asUserRole(Object value) {
+        if (!(value instanceof String name)) {
+            return null;
+        }
+        try {
+            return UserRole.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static List<String> asStringList(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return null;
+        }
+        return list.stream()
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .toList();
+    }
+
+    private static String digest(String token) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Entries live for the configured TTL, capped at the remaining lifetime of the token.
+     */
+    private record TokenExpiry(Duration ttl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+            final long ttlNanos = ttl.toNanos();
+            if (token.expiresAt() == null) {
+                return ttlNanos;
+            }
+            final long remaining = Duration.between(Instant.now(), token.expiresAt()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
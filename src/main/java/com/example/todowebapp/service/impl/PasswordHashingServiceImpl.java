@@ -0,0 +1,161 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.PasswordHashingProperties;
+import com.example.todowebapp.exceptions.ErrorCode;
+import com.example.todowebapp.exceptions.ServiceUnavailableException;
+import com.example.todowebapp.service.PasswordHashingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt off the Netty event loop on a fixed pool with a bounded queue.
+ * When the queue is full new hash requests fail fast instead of piling up.
+ */
+@Slf4j
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService, DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final PasswordEncoder timedEncoder;
+    private final Duration retryAfter;
+    private final Counter rejected;
+
+    public PasswordHashingServiceImpl(final PasswordEncoder passwordEncoder,
+                                      final PasswordHashingProperties properties,
+                                      final MeterRegistry meterRegistry) {
+        final Timer queueWait = Timer.builder("password.hashing.queue.wait")
+                .description("Time a hash request waited for a hashing thread")
+                .register(meterRegistry);
+        this.executor = new InstrumentedExecutor(
+                Math.max(1, properties.getThreads()),
+                Math.max(1, properties.getQueueDepth()),
+                queueWait);
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hashing");
+        this.timedEncoder = new TimedPasswordEncoder(passwordEncoder, meterRegistry);
+        this.retryAfter = properties.getRetryAfter();
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Hash requests rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<String> encode(final CharSequence rawPassword) {
+        return withAdmissionControl(Mono.fromCallable(() -> timedEncoder.encode(rawPassword))
+                .subscribeOn(scheduler));
+    }
+
+    @Override
+    public Mono<Boolean> matches(final CharSequence rawPassword, final String encodedPassword) {
+        return withAdmissionControl(Mono.fromCallable(() -> timedEncoder.matches(rawPassword, encodedPassword))
+                .subscribeOn(scheduler));
+    }
+
+    @Override
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public PasswordEncoder timedEncoder() {
+        return timedEncoder;
+    }
+
+    @Override
+    public <T> Mono<T> withAdmissionControl(final Mono<T> mono) {
+        return mono.onErrorMap(RejectedExecutionException.class, e -> {
+            rejected.increment();
+            log.warn("Password hashing saturated, rejecting request");
+            return new ServiceUnavailableException(ErrorCode.PASSWORD_HASHING_SATURATED, retryAfter);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+        executor.shutdown();
+    }
+
+    /**
+     * Fixed pool with a bounded queue that aborts when full and records how long tasks queued.
+     */
+    private static final class InstrumentedExecutor extends ThreadPoolExecutor {
+        private final Timer queueWait;
+
+        InstrumentedExecutor(final int threads, final int queueDepth, final Timer queueWait) {
+            super(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueDepth), new HashingThreadFactory(), new AbortPolicy());
+            this.queueWait = queueWait;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            final long enqueued = System.nanoTime();
+            super.execute(() -> {
+                queueWait.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+                command.run();
+            });
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static final class TimedPasswordEncoder implements PasswordEncoder {
+        private final PasswordEncoder delegate;
+        private final Timer encodeTimer;
+        private final Timer matchesTimer;
+
+        TimedPasswordEncoder(final PasswordEncoder delegate, final MeterRegistry meterRegistry) {
+            this.delegate = delegate;
+            this.encodeTimer = Timer.builder("password.hashing.duration")
+                    .tag("operation", "encode")
+                    .register(meterRegistry);
+            this.matchesTimer = Timer.builder("password.hashing.duration")
+                    .tag("operation", "matches")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public String encode(final CharSequence rawPassword) {
+            return encodeTimer.record(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+            return Boolean.TRUE.equals(matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+        }
+
+        @Override
+        public boolean upgradeEncoding(final String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+    }
+}
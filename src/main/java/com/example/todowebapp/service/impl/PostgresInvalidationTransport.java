@@ -0,0 +1,101 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.InvalidationProperties;
+import com.example.todowebapp.service.InvalidationTransport;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * NOTIFY is sent through the shared {@link DatabaseClient}, so inside a transaction Postgres delivers it on commit
+ * and drops it on rollback. LISTEN holds a dedicated, unpooled connection to the primary.
+ * <p>
+ * A listening connection that silently dropped (NAT timeout, failover) would never error and just stop delivering.
+ * It therefore uses TCP keepalive and probes itself: a notification sent on the channel at a fixed interval has to
+ * come back within the liveness timeout, otherwise listening fails and is re-established with a cache flush.
+ */
+@Service
+@ConditionalOnProperty(prefix = "todo.invalidation", name = "transport", havingValue = "postgres", matchIfMissing = true)
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    // cannot be mistaken for an encoded event, which always has four or five fields
+    static final String LIVENESS_PROBE = "probe";
+
+    private final DatabaseClient client;
+    private final ConnectionFactory listenConnectionFactory;
+    private final String channel;
+    private final Duration livenessInterval;
+    private final Duration livenessTimeout;
+
+    public PostgresInvalidationTransport(final DatabaseClient client,
+                                         final R2dbcProperties r2dbcProperties,
+                                         final InvalidationProperties properties) {
+        if (!properties.getChannel().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid invalidation channel: " + properties.getChannel());
+        }
+        this.client = client;
+        this.channel = properties.getChannel();
+        this.livenessInterval = properties.getLivenessInterval();
+        this.livenessTimeout = properties.getLivenessTimeout();
+        this.listenConnectionFactory = ConnectionFactoryBuilder.withUrl(r2dbcProperties.getUrl())
+                .username(r2dbcProperties.getUsername())
+                .password(r2dbcProperties.getPassword())
+                .configure(options -> options.option(PostgresqlConnectionFactoryProvider.TCP_KEEPALIVE, true))
+                .build();
+    }
+
+    @Override
+    public Mono<Void> send(final String payload) {
+        return client.sql("SELECT pg_notify(:channel, :payload)")
+                .bind("channel", channel)
+                .bind("payload", payload)
+                .then();
+    }
+
+    @Override
+    public Flux<String> listen(final Runnable onListening) {
+        return Flux.usingWhen(
+                Mono.from(listenConnectionFactory.create()),
+                connection -> {
+                    final PostgresqlConnection pg = (PostgresqlConnection) connection;
+                    return pg.createStatement("LISTEN " + channel)
+                            .execute()
+                            .flatMap(PostgresqlResult::getRowsUpdated)
+                            .thenMany(Flux.defer(() -> {
+                                onListening.run();
+                                return Flux.merge(pg.getNotifications(), probe(pg));
+                            }))
+                            // any notification proves the connection alive, probes of other instances included
+                            .timeout(livenessInterval.plus(livenessTimeout))
+                            .mapNotNull(Notification::getParameter)
+                            .filter(payload -> !LIVENESS_PROBE.equals(payload));
+                },
+                Connection::close);
+    }
+
+    /**
+     * Notifies the channel on the listening connection itself; emits nothing, and fails when sending does.
+     */
+    private Flux<Notification> probe(final PostgresqlConnection connection) {
+        return Flux.interval(livenessInterval)
+                .concatMap(tick -> connection.createStatement("SELECT pg_notify($1, $2)")
+                        .bind("$1", channel)
+                        .bind("$2", LIVENESS_PROBE)
+                        .execute()
+                        .flatMap(result -> result.map((row, metadata) -> tick))
+                        .then())
+                .thenMany(Flux.empty());
+    }
+}
@@ -1,21 +1,26 @@
 package com.example.todowebapp.service.impl;
 
+import com.example.todowebapp.datasource.ReadOnlyRouting;
+import com.example.todowebapp.datasource.ReadYourWritesTracker;
 import com.example.todowebapp.domain.dto.*;
 import com.example.todowebapp.domain.entity.User;
 import com.example.todowebapp.domain.enumerated.UserRole;
 import com.example.todowebapp.exceptions.ApiException;
 import com.example.todowebapp.exceptions.ErrorCode;
-import com.example.todowebapp.repository.RoleRepository;
 import com.example.todowebapp.repository.UserRepository;
 import com.example.todowebapp.security.AuthenticationUserDetails;
+import com.example.todowebapp.security.RolePrivilegeCatalog;
+import com.example.todowebapp.service.InvalidationBus;
+import com.example.todowebapp.service.InvalidationEvent;
 import com.example.todowebapp.service.JwtService;
+import com.example.todowebapp.service.PasswordHashingService;
 import com.example.todowebapp.service.SecureBasicAuthenticationService;
+import com.example.todowebapp.service.TokenVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
@@ -25,11 +30,14 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class SecureBasicAuthenticationServiceImpl implements SecureBasicAuthenticationService {
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final RolePrivilegeCatalog rolePrivilegeCatalog;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
     private final ReactiveUserDetailsService userDetailsService;
     private final ReactiveAuthenticationManager authManager;
+    private final TokenVersionService tokenVersionService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final InvalidationBus invalidationBus;
 
     @Override
     public Mono<UserDTO> getCurrentUser(final AuthenticationUserDetails principal) {
@@ -60,18 +68,26 @@ public class SecureBasicAuthenticationServiceImpl implements SecureBasicAuthenti
 
         // 3) find role, build user with FK, save
         Mono<Void> createUser =
-                roleRepository.findByUserRole(data.getUserRole())
+                rolePrivilegeCatalog.snapshot()
+                        .mapNotNull(catalog -> catalog.roleId(data.getUserRole()))
                         .switchIfEmpty(Mono.error(new ApiException(ErrorCode.ROLE_NOT_FOUND)))
-                        .flatMap(role -> {
+                        .zipWith(passwordHashingService.encode(data.getPassword()))
+                        .flatMap(tuple -> {
                             User user = User.builder()
                                     .name(data.getFirstName())
                                     .lastName(data.getLastName())
                                     .email(data.getEmail())
-                                    .password(passwordEncoder.encode(data.getPassword()))
-                                    .roleId(role.getId())     // set FK explicitly
+                                    .password(tuple.getT2())
+                                    .roleId(tuple.getT1())     // set FK explicitly
                                     .system(false)
                                     .build();
-                            return userRepository.save(user).then();
+                            // the login that usually follows must find the user on the primary
+                            return userRepository.save(user)
+                                    .doOnSuccess(saved -> readYourWritesTracker.markWrite(ReadOnlyRouting.emailKey(data.getEmail())))
+                                    // delivered on commit; clears lookups other instances may have cached meanwhile
+                                    // and keeps this email on the primary there too
+                                    .flatMap(saved -> invalidationBus.publish(new InvalidationEvent(
+                                            saved.getId(), InvalidationEvent.Entity.USER, 0, saved.getEmail())));
                         });
 
         return ensureUnique.then(createUser);
@@ -79,9 +95,9 @@ public class SecureBasicAuthenticationServiceImpl implements SecureBasicAuthenti
 
     @Override
     public Mono<LoginResponseDTO> login(final LoginData data) {
-        // 1) authenticate reactively
-        return authManager
-                .authenticate(new UsernamePasswordAuthenticationToken(data.getEmail(), data.getPassword()))
+        // 1) authenticate reactively (password check on the bounded hashing scheduler)
+        return passwordHashingService.withAdmissionControl(authManager
+                        .authenticate(new UsernamePasswordAuthenticationToken(data.getEmail(), data.getPassword())))
                 // 2) load full user details (or reuse auth.getPrincipal())
                 .flatMap(auth -> userDetailsService.findByUsername(data.getEmail()))
                 // 3) mint JWT
@@ -89,4 +105,13 @@ public class SecureBasicAuthenticationServiceImpl implements SecureBasicAuthenti
                 // 4) build response
                 .map(token -> LoginResponseDTO.builder().token(token).build());
     }
+
+    @Override
+    public Mono<Void> revokeTokens(final AuthenticationUserDetails principal) {
+        final Long userId = principal.getUserId();
+        return tokenVersionService.revokeTokens(userId)
+                .then(tokenVersionService.currentVersion(userId))
+                .flatMap(version -> invalidationBus.publish(
+                        new InvalidationEvent(userId, InvalidationEvent.Entity.USER, version)));
+    }
 }
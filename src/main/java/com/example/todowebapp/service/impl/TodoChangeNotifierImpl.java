@@ -0,0 +1,53 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.service.TodoChangeListener;
+import com.example.todowebapp.service.TodoChangeNotifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+public class TodoChangeNotifierImpl implements TodoChangeNotifier {
+
+    // resolved lazily: listeners commonly depend on services that publish through this notifier
+    private final ObjectProvider<TodoChangeListener> listeners;
+
+    public TodoChangeNotifierImpl(final ObjectProvider<TodoChangeListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Mono<Void> todosChanged(final Long userId) {
+        return afterCommit(() -> notifyListeners(userId));
+    }
+
+    @Override
+    public Mono<Void> afterCommit(final Runnable action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(tsm -> tsm.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCommit() {
+                        return Mono.fromRunnable(action);
+                    }
+                }))
+                .switchIfEmpty(Mono.fromRunnable(action))
+                .onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(action))
+                .then();
+    }
+
+    private void notifyListeners(final Long userId) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onTodosChanged(userId);
+            } catch (RuntimeException e) {
+                log.warn("Todo change listener {} failed for user {}", listener.getClass().getSimpleName(), userId, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.TodoEventsProperties;
+import com.example.todowebapp.domain.dto.TodoChangeEventDTO;
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.enumerated.TodoChangeType;
+import com.example.todowebapp.service.InvalidationEvent;
+import com.example.todowebapp.service.InvalidationListener;
+import com.example.todowebapp.service.TodoChangeNotifier;
+import com.example.todowebapp.service.TodoEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-instance fan-out of todo changes to Server-Sent Event subscribers. Recent events are kept in a ring
+ * so a reconnecting client resumes from its Last-Event-ID; event ids carry an instance epoch, and a client
+ * whose id is unknown here (restart, other instance, fell out of the ring) is told to resync instead.
+ * Writes made on other instances arrive through the invalidation bus and also become a resync.
+ */
+@Slf4j
+@Service
+public class TodoEventServiceImpl implements TodoEventService, InvalidationListener {
+
+    private final TodoChangeNotifier notifier;
+    private final TodoEventsProperties properties;
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final Object lock = new Object();
+    // guarded by lock, as is emission into the sink so replay and live delivery cannot interleave
+    private final ArrayDeque<Entry> ring = new ArrayDeque<>();
+    private final Sinks.Many<Entry> sink = Sinks.many().multicast().directBestEffort();
+    private long sequence;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter dropped;
+
+    public TodoEventServiceImpl(final TodoChangeNotifier notifier,
+                                final TodoEventsProperties properties,
+                                final MeterRegistry meterRegistry) {
+        this.notifier = notifier;
+        this.properties = properties;
+        Gauge.builder("todo.events.subscribers", subscribers, AtomicInteger::get)
+                .description("Open todo change feeds on this instance")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("todo.events.dropped")
+                .description("Todo change events dropped for subscribers that did not keep up")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> publish(final Long userId, final TodoChangeType type, final TodoDTO todo) {
+        return notifier.afterCommit(() -> emit(userId, new TodoChangeEventDTO(type, todo)));
+    }
+
+    @Override
+    public Flux<ServerSentEvent<TodoChangeEventDTO>> subscribe(final Long userId, final String lastEventId) {
+        final Flux<ServerSentEvent<TodoChangeEventDTO>> events = Flux.<Entry>create(emitter -> attach(emitter, userId, lastEventId))
+                .map(this::toEvent);
+        // the first heartbeat goes out right away so the response is committed on subscribe
+        final Flux<ServerSentEvent<TodoChangeEventDTO>> heartbeats = Flux.interval(Duration.ZERO, properties.getHeartbeat())
+                .map(tick -> ServerSentEvent.<TodoChangeEventDTO>builder().comment("heartbeat").build());
+
+        // buffered after the merge, so nothing else holds events back from a slow subscriber
+        return Flux.merge(events, heartbeats)
+                .onBackpressureBuffer(Math.max(1, properties.getSubscriberBuffer()),
+                        event -> {
+                            if (event.comment() == null) {
+                                dropped.increment();
+                            }
+                        }, BufferOverflowStrategy.DROP_OLDEST)
+                .doOnSubscribe(s -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    @Override
+    public void onInvalidation(final InvalidationEvent event) {
+        if (event.entity() == InvalidationEvent.Entity.TODOS) {
+            emit(event.userId(), new TodoChangeEventDTO(TodoChangeType.RESYNC, null));
+        }
+    }
+
+    @Override
+    public void onFlush() {
+        emit(null, new TodoChangeEventDTO(TodoChangeType.RESYNC, null));
+    }
+
+    private void attach(final FluxSink<Entry> emitter, final Long userId, final String lastEventId) {
+        synchronized (lock) {
+            replay(emitter, userId, lastEventId);
+            final Disposable live = sink.asFlux()
+                    .filter(entry -> entry.isFor(userId))
+                    .subscribe(emitter::next);
+            emitter.onDispose(live);
+        }
+    }
+
+    private void replay(final FluxSink<Entry> emitter, final Long userId, final String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+        final long last = resumePoint(lastEventId);
+        final long oldest = ring.isEmpty() ? sequence + 1 : ring.peekFirst().seq();
+        if (last < 0 || last > sequence || last < oldest - 1) {
+            emitter.next(new Entry(sequence, userId, new TodoChangeEventDTO(TodoChangeType.RESYNC, null)));
+            return;
+        }
+        ring.stream()
+                .filter(entry -> entry.seq() > last && entry.isFor(userId))
+                .forEach(emitter::next);
+    }
+
+    /**
+     * Sequence number of an id issued by this instance, or -1 when it was issued elsewhere or is malformed.
+     */
+    private long resumePoint(final String lastEventId) {
+        final int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void emit(final Long userId, final TodoChangeEventDTO event) {
+        synchronized (lock) {
+            final Entry entry = new Entry(++sequence, userId, event);
+            ring.addLast(entry);
+            while (ring.size() > Math.max(1, properties.getReplaySize())) {
+                ring.removeFirst();
+            }
+            final Sinks.EmitResult result = sink.tryEmitNext(entry);
+            if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                log.warn("Todo change event {} not delivered: {}", entry.seq(), result);
+            }
+        }
+    }
+
+    private ServerSentEvent<TodoChangeEventDTO> toEvent(final Entry entry) {
+        return ServerSentEvent.<TodoChangeEventDTO>builder(entry.event())
+                .id(epoch + '-' + entry.seq())
+                .event(entry.event().getType().name())
+                .build();
+    }
+
+    /**
+     * A user id of null addresses every subscriber.
+     */
+    private record Entry(long seq, Long userId, TodoChangeEventDTO event) {
+        boolean isFor(final Long subscriber) {
+            return userId == null || Objects.equals(userId, subscriber);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.TodoListCacheProperties;
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.dto.TodoPageDTO;
+import com.example.todowebapp.service.InvalidationEvent;
+import com.example.todowebapp.service.InvalidationListener;
+import com.example.todowebapp.service.TodoChangeListener;
+import com.example.todowebapp.service.TodoListCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+/**
+ * Byte-weighted Caffeine cache of users' todo lists. Entries are only served for the list version they were
+ * read at, so a load that raced with a write can never be served after it. Cached loads always read the
+ * primary, since a lagging replica could return rows older than the version they are tagged with. Local
+ * writes also evict the entry after commit to free the memory straight away.
+ */
+@Service
+public class TodoListCacheImpl implements TodoListCache, TodoChangeListener, InvalidationListener {
+
+    private static final String CACHE_NAME = "todo-lists";
+    // rough object layout costs on a 64-bit JVM with compressed oops
+    private static final int ENTRY_OVERHEAD = 96;
+    private static final int TODO_OVERHEAD = 160;
+
+    private final Cache<Long, Entry> lists;
+    private final boolean enabled;
+
+    public TodoListCacheImpl(final TodoListCacheProperties properties, final MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.lists = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight().toBytes())
+                .weigher((Long userId, Entry entry) -> entry.bytes())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, lists, CACHE_NAME);
+        Gauge.builder("todo.list.cache.weight", lists,
+                        cache -> cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Estimated heap taken by cached todo lists")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TodoPageDTO get(final Long userId, final long version) {
+        if (!enabled) {
+            return null;
+        }
+        final Entry entry = lists.getIfPresent(userId);
+        return entry != null && entry.version() == version ? entry.page() : null;
+    }
+
+    @Override
+    public void put(final Long userId, final long version, final TodoPageDTO page) {
+        if (enabled) {
+            lists.put(userId, new Entry(version, page, weigh(page)));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void onTodosChanged(final Long userId) {
+        lists.invalidate(userId);
+    }
+
+    @Override
+    public void onInvalidation(final InvalidationEvent event) {
+        if (event.entity() == InvalidationEvent.Entity.TODOS) {
+            lists.invalidate(event.userId());
+        }
+    }
+
+    @Override
+    public void onFlush() {
+        lists.invalidateAll();
+    }
+
+    private static int weigh(final TodoPageDTO page) {
+        long bytes = ENTRY_OVERHEAD;
+        for (TodoDTO todo : page.getItems()) {
+            final String description = todo.getDescription();
+            bytes += TODO_OVERHEAD + (description != null ? description.length() : 0);
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private record Entry(long version, TodoPageDTO page, int bytes) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.TodoListVersionProperties;
+import com.example.todowebapp.exceptions.ApiException;
+import com.example.todowebapp.exceptions.ErrorCode;
+import com.example.todowebapp.repository.UserRepository;
+import com.example.todowebapp.service.InvalidationBus;
+import com.example.todowebapp.service.InvalidationEvent;
+import com.example.todowebapp.service.InvalidationListener;
+import com.example.todowebapp.service.TodoChangeListener;
+import com.example.todowebapp.service.TodoChangeNotifier;
+import com.example.todowebapp.service.TodoListVersionService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-user todo list version backing conditional GETs of the listing.
+ * Cached, so revalidating an unchanged list costs no database round trip. The cache holds the in-flight load:
+ * invalidating after a write drops a pending read too, so a read that started before the write can never put
+ * the older version back and answer 304 for a list that changed.
+ */
+@Service
+public class TodoListVersionServiceImpl implements TodoListVersionService, TodoChangeListener, InvalidationListener {
+
+    private final UserRepository userRepository;
+    private final TodoChangeNotifier changeNotifier;
+    private final InvalidationBus invalidationBus;
+    private final AsyncCache<Long, Long> versions;
+
+    public TodoListVersionServiceImpl(final UserRepository userRepository,
+                                      final TodoChangeNotifier changeNotifier,
+                                      final InvalidationBus invalidationBus,
+                                      final TodoListVersionProperties properties,
+                                      final MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.changeNotifier = changeNotifier;
+        this.invalidationBus = invalidationBus;
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getCacheTtl())
+                .maximumSize(properties.getCacheMaximumSize())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions.synchronous(), "todo-list-versions");
+    }
+
+    @Override
+    public Mono<Long> currentVersion(final Long userId) {
+        // read on the primary outside the caller's context; shared by every caller, so one cancelling must not cancel it
+        return Mono.fromFuture(() -> versions.get(userId,
+                        (id, executor) -> userRepository.findTodosVersionById(id).toFuture()), true)
+                .switchIfEmpty(Mono.error(new ApiException(ErrorCode.USER_NOT_FOUND)));
+    }
+
+    /**
+     * Must run inside the transaction that changes the todos, ahead of the writes stamped with it: the row lock
+     * it takes orders concurrent writers of a user, so versions commit in increasing order. The cached version
+     * is evicted after commit, here and, through the invalidation bus, on the other instances.
+     */
+    @Override
+    public Mono<Long> bump(final Long userId) {
+        return userRepository.incrementTodosVersion(userId)
+                .then(userRepository.findTodosVersionById(userId))
+                .flatMap(version -> invalidationBus.publish(
+                                new InvalidationEvent(userId, InvalidationEvent.Entity.TODOS, version))
+                        .then(changeNotifier.todosChanged(userId))
+                        .thenReturn(version));
+    }
+
+    @Override
+    public Mono<Void> lock(final Long userId) {
+        return userRepository.lockTodosVersionById(userId).then();
+    }
+
+    @Override
+    public void onTodosChanged(final Long userId) {
+        versions.synchronous().invalidate(userId);
+    }
+
+    @Override
+    public void onInvalidation(final InvalidationEvent event) {
+        if (event.entity() == InvalidationEvent.Entity.TODOS) {
+            versions.synchronous().invalidate(event.userId());
+        }
+    }
+
+    @Override
+    public void onFlush() {
+        versions.synchronous().invalidateAll();
+    }
+}
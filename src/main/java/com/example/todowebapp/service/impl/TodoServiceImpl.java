@@ -1,14 +1,40 @@
 package com.example.todowebapp.service.impl;
 
+import com.example.todowebapp.config.TodoBatchProperties;
+import com.example.todowebapp.config.TodoStreamingProperties;
+import com.example.todowebapp.config.TodoSyncProperties;
+import com.example.todowebapp.datasource.ReadOnlyRouting;
+import com.example.todowebapp.domain.dao.TodoCursor;
+import com.example.todowebapp.domain.dao.TodoDao;
+import com.example.todowebapp.domain.dao.TodoSyncToken;
+import com.example.todowebapp.domain.dao.TodoTombstoneDao;
+import com.example.todowebapp.domain.dto.TodoBatchRequestDTO;
+import com.example.todowebapp.domain.dto.TodoBatchResultDTO;
+import com.example.todowebapp.domain.dto.TodoChangesDTO;
 import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.dto.TodoPageDTO;
+import com.example.todowebapp.domain.dto.TodoQuery;
 import com.example.todowebapp.domain.entity.Todo;
 import com.example.todowebapp.domain.entity.User;
+import com.example.todowebapp.domain.enumerated.BatchItemStatus;
+import com.example.todowebapp.domain.enumerated.TodoChangeType;
 import com.example.todowebapp.exceptions.ApiException;
 import com.example.todowebapp.exceptions.ErrorCode;
+import com.example.todowebapp.exceptions.PreconditionFailedException;
+import com.example.todowebapp.metrics.StageMetrics;
 import com.example.todowebapp.repository.TodoRepository;
 import com.example.todowebapp.repository.UserRepository;
 import com.example.todowebapp.security.AuthenticationUserDetails;
+import com.example.todowebapp.service.InvalidationEvent;
+import com.example.todowebapp.service.InvalidationListener;
+import com.example.todowebapp.service.TodoChangeListener;
+import com.example.todowebapp.service.TodoEventService;
+import com.example.todowebapp.service.TodoListCache;
+import com.example.todowebapp.service.TodoListVersionService;
 import com.example.todowebapp.service.TodoService;
+import com.example.todowebapp.util.SingleFlight;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,25 +42,165 @@ import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class TodoServiceImpl implements TodoService {
+public class TodoServiceImpl implements TodoService, TodoChangeListener, InvalidationListener {
+
+    private static final Duration SYNC_TOKEN_SLACK = Duration.ofMinutes(1);
 
     private final UserRepository userRepository;
     private final TodoRepository todoRepository;
+    private final TodoDao todoDao;
+    private final TodoStreamingProperties streamingProperties;
+    private final TodoBatchProperties batchProperties;
+    private final Validator validator;
+    private final TodoListVersionService todoListVersionService;
+    private final StageMetrics stageMetrics;
+    private final TodoListCache todoListCache;
+    private final TodoEventService todoEventService;
+    private final TodoTombstoneDao todoTombstoneDao;
+    private final TodoSyncProperties syncProperties;
+    private final SingleFlight<PageKey, TodoPageDTO> pageLoads = new SingleFlight<>();
+
+    /**
+     * Retrieve todos for current user, filtered and keyset-paginated when a limit is given.
+     * One extra row is fetched to tell whether a next page exists. Concurrent identical requests of a user
+     * share one query. The unfiltered listing is served from {@link TodoListCache} while the list version
+     * it was read at is still current.
+     */
+    @Override
+    public Mono<TodoPageDTO> getTodos(final AuthenticationUserDetails userDetails, final TodoQuery query) {
+        final Long userId = userDetails.getUserId();
+        final PageKey key = new PageKey(userId, query);
+        if (!todoListCache.isEnabled() || !isUnfiltered(query)) {
+            return pageLoads.execute(key, () -> loadPage(userId, query, true));
+        }
+        // the version is read before the rows, so a load racing with a write is tagged with the older version;
+        // the rows come from the primary, as a lagging replica could return rows older than that version
+        return todoListVersionService.currentVersion(userId)
+                .flatMap(version -> {
+                    final TodoPageDTO cached = todoListCache.get(userId, version);
+                    if (cached != null) {
+                        return Mono.just(cached);
+                    }
+                    return pageLoads.execute(key, () -> loadPage(userId, query, false))
+                            .doOnNext(page -> todoListCache.put(userId, version, page));
+                });
+    }
+
+    /**
+     * Requests arriving after a committed change must not join a load that started before it.
+     */
+    @Override
+    public void onTodosChanged(final Long userId) {
+        pageLoads.forget(key -> key.userId().equals(userId));
+    }
+
+    @Override
+    public void onInvalidation(final InvalidationEvent event) {
+        if (event.entity() == InvalidationEvent.Entity.TODOS) {
+            onTodosChanged(event.userId());
+        }
+    }
+
+    @Override
+    public void onFlush() {
+        pageLoads.forget(key -> true);
+    }
+
+    private Mono<TodoPageDTO> loadPage(final Long userId, final TodoQuery query, final boolean replica) {
+        final Integer limit = query.getLimit();
+        final int fetchLimit = limit != null ? limit + 1 : 0;
+
+        // replica unless the user has just written or the caller needs the primary
+        final Flux<TodoDTO> fetched = todoDao.findPage(userId, query, fetchLimit);
+        final Flux<TodoDTO> found = replica
+                ? ReadOnlyRouting.readOnly(ReadOnlyRouting.userKey(userId), fetched)
+                : fetched;
+        return stageMetrics.time("db.todo.page", found)
+                .collectList()
+                .map(rows -> {
+                    if (limit == null || rows.size() <= limit) {
+                        return new TodoPageDTO(rows, null);
+                    }
+                    final List<TodoDTO> page = List.copyOf(rows.subList(0, limit));
+                    final TodoDTO last = page.get(page.size() - 1);
+                    final String next = new TodoCursor(last.getDueDate(), last.getId()).encode();
+                    return new TodoPageDTO(page, next);
+                });
+    }
+
+    /**
+     * Current change version of the user's todo list, served from cache when possible.
+     */
+    @Override
+    public Mono<Long> getTodosVersion(final AuthenticationUserDetails userDetails) {
+        return todoListVersionService.currentVersion(userDetails.getUserId());
+    }
+
+    /**
+     * Stream todos for current user row by row. Demand is capped at the fetch size so the database cursor
+     * is only advanced as the client consumes; cancelling the subscription cancels the query.
+     */
+    @Override
+    public Flux<TodoDTO> streamTodos(final AuthenticationUserDetails userDetails, final TodoQuery query) {
+        final int fetchSize = Math.max(1, streamingProperties.getFetchSize());
+        final int fetchLimit = query.getLimit() != null ? query.getLimit() : 0;
+        final Flux<TodoDTO> rows = ReadOnlyRouting.readOnly(ReadOnlyRouting.userKey(userDetails.getUserId()),
+                todoDao.stream(userDetails.getUserId(), query, fetchLimit, fetchSize));
+        return stageMetrics.time("db.todo.stream", rows)
+                .limitRate(fetchSize);
+    }
 
     /**
-     * Retrieve all todos for current user.
+     * Todos written and ids deleted since the sync token, found through the change_seq indexes so the work
+     * follows the amount of change. Read on the primary: the version is read first, and every row stamped
+     * at or below it has committed by then. Without a token, or with one that may have outlived its
+     * tombstones, the whole list comes back as a reset.
      */
     @Override
-    public Flux<TodoDTO> getTodos(final AuthenticationUserDetails userDetails) {
+    public Mono<TodoChangesDTO> getChanges(final AuthenticationUserDetails userDetails, final String syncToken) {
         final Long userId = userDetails.getUserId();
-        return todoRepository.findAllByUserId(userId)
-                .map(this::toDto);
+        final TodoSyncToken since = syncToken != null ? TodoSyncToken.decode(syncToken) : null;
+
+        return todoListVersionService.currentVersion(userId).flatMap(version -> {
+            final String next = TodoSyncToken.issue(version).encode();
+            if (since == null || isExpired(since)) {
+                return stageMetrics.time("db.todo.page", todoDao.findPage(userId, TodoQuery.builder().build(), 0))
+                        .collectList()
+                        .map(all -> TodoChangesDTO.builder().changed(all).deleted(List.of()).reset(true).syncToken(next).build());
+            }
+            if (since.version() >= version) {
+                // a version cached before the client's last sync can lag behind its token; nothing is newer then
+                return Mono.just(TodoChangesDTO.builder().changed(List.of()).deleted(List.of()).syncToken(syncToken).build());
+            }
+            final Mono<List<TodoDTO>> changed = stageMetrics.time("db.todo.changes",
+                            todoDao.findChanged(userId, since.version(), version))
+                    .collectList();
+            final Mono<List<Long>> deleted = stageMetrics.time("db.tombstone.select",
+                            todoTombstoneDao.findDeleted(userId, since.version(), version))
+                    .collectList();
+            return Mono.zip(changed, deleted, (c, d) -> TodoChangesDTO.builder()
+                    .changed(c)
+                    .deleted(d)
+                    .syncToken(next)
+                    .build());
+        });
+    }
+
+    private boolean isExpired(final TodoSyncToken token) {
+        // the slack covers deletes committed at a version above the token but timestamped just before it was issued
+        final Instant horizon = Instant.now().minus(syncProperties.getTombstoneRetention()).plus(SYNC_TOKEN_SLACK);
+        return token.issuedAt() < horizon.getEpochSecond();
     }
 
     /**
@@ -48,7 +214,7 @@ public class TodoServiceImpl implements TodoService {
         final Long userId = userDetails.getUserId();
 
         // ensure user exists (and get any needed flags)
-        Mono<User> userMono = userRepository.findById(userId)
+        Mono<User> userMono = stageMetrics.time("db.user.find", userRepository.findById(userId))
                 .switchIfEmpty(Mono.error(new ApiException(ErrorCode.USER_NOT_FOUND)));
 
         return userMono.flatMap(u -> {
@@ -59,75 +225,242 @@ public class TodoServiceImpl implements TodoService {
                     .completionDate(dto.getCompletionDate())
                     .userId(userId)   // set FK explicitly
                     .build();
-            return todoRepository.save(entity).map(this::toDto);
+            return todoListVersionService.bump(userId)
+                    .flatMap(seq -> {
+                        entity.setChangeSeq(seq);
+                        return stageMetrics.time("db.todo.insert", todoRepository.save(entity));
+                    })
+                    .map(TodoServiceImpl::toDto)
+                    .flatMap(created -> todoEventService.publish(userId, TodoChangeType.CREATED, created)
+                            .thenReturn(created));
         });
     }
 
     /**
-     * Update a todos. (Optionally verify ownership.)
+     * Update a todo in one ownership- and version-checked statement. The expected version comes from
+     * If-Match or, failing that, from the body; without either the update is unconditional.
+     * Only when nothing matched is the row read again to tell not-found, foreign and stale apart.
      */
     @Override
     @Transactional
     public Mono<TodoDTO> updateTodo(final TodoDTO dto,
+                                    final Long expectedVersion,
                                     final AuthenticationUserDetails userDetails) {
         if (dto.getId() == null) {
             return Mono.error(new ApiException(ErrorCode.TODO_TASK_NOT_FOUND));
         }
         final Long userId = userDetails.getUserId();
+        final Long version = expectedVersion != null ? expectedVersion : dto.getVersion();
 
-        return todoRepository.findById(dto.getId())
-                .switchIfEmpty(Mono.error(new ApiException(ErrorCode.TODO_TASK_NOT_FOUND)))
-                // verify that this todos belongs to the current user
-                .flatMap(existing -> {
-                    if (existing.getUserId() == null || !existing.getUserId().equals(userId)) {
-                        return Mono.error(new ApiException(ErrorCode.USER_CANNOT_UPDATE_ANOTHER_USER_TODO));
-                    }
-                    existing.setDescription(dto.getDescription());
-                    existing.setCheckMark(dto.isCheckMark());
-                    existing.setDueDate(dto.getDueDate());
-                    existing.setCompletionDate(dto.getCompletionDate());
-                    return todoRepository.save(existing).map(this::toDto);
-                });
+        final Todo entity = toEntity(dto, userId);
+
+        return todoListVersionService.bump(userId)
+                .flatMap(seq -> {
+                    entity.setChangeSeq(seq);
+                    return stageMetrics.time("db.todo.update", todoDao.updateIfMatch(userId, entity, version));
+                })
+                .map(TodoServiceImpl::toDto)
+                .flatMap(updated -> todoEventService.publish(userId, TodoChangeType.UPDATED, updated)
+                        .thenReturn(updated))
+                .switchIfEmpty(Mono.defer(() -> stageMetrics.time("db.todo.find", todoRepository.findById(dto.getId()))
+                        .switchIfEmpty(Mono.error(new ApiException(ErrorCode.TODO_TASK_NOT_FOUND)))
+                        .flatMap(existing -> {
+                            if (existing.getUserId() == null || !existing.getUserId().equals(userId)) {
+                                return Mono.error(new ApiException(ErrorCode.USER_CANNOT_UPDATE_ANOTHER_USER_TODO));
+                            }
+                            return Mono.error(new PreconditionFailedException(
+                                    ErrorCode.TODO_VERSION_CONFLICT, existing.getVersion()));
+                        })));
     }
 
     /**
-     * Delete multiple todos.
+     * Delete multiple todos with ownership-scoped bulk statements, one per chunk of ids.
+     * Deleted rows are emitted as they come back; ids of other users are silently skipped.
+     * Each deletion leaves a tombstone for delta sync, stamped with the list version bumped after the deletes.
      */
     @Override
     @Transactional
     public Flux<TodoDTO> deleteTodos(final Set<Long> ids,
                                      final AuthenticationUserDetails user) {
-        Long userId = user.getUserId();
-
         if (ids == null || ids.isEmpty()) {
             return Flux.empty();
         }
+        final Long userId = user.getUserId();
+        final int chunkSize = Math.max(1, batchProperties.getDeleteChunkSize());
 
-        return todoRepository.findAllByIdInAndUserId(ids, userId)
-                .collectList()
-                .flatMapMany(found -> {
-                    if (found.isEmpty()) {
-                        return Flux.error(new ApiException("No todos found for given IDs"));
+        // the list version row is locked first, in the same order as every other write, but only bumped once
+        // rows were actually deleted: unknown or foreign ids leave the list, its ETag and its caches untouched
+        return todoListVersionService.lock(userId)
+                .thenMany(Flux.defer(() -> {
+                    final List<Long> deletedIds = new ArrayList<>();
+                    return Flux.fromIterable(ids)
+                            .buffer(chunkSize)
+                            .concatMap(chunk -> stageMetrics.time("db.todo.delete", todoDao.deleteOwned(userId, chunk)))
+                            .doOnNext(deleted -> deletedIds.add(deleted.getId()))
+                            .map(TodoServiceImpl::toDto)
+                            .concatMap(deleted -> todoEventService.publish(userId, TodoChangeType.DELETED, deleted)
+                                    .thenReturn(deleted))
+                            .concatWith(Mono.defer(() -> deletedIds.isEmpty()
+                                            ? Mono.<Void>empty()
+                                            : todoListVersionService.bump(userId)
+                                            .flatMap(seq -> stageMetrics.time("db.tombstone.insert",
+                                                    todoTombstoneDao.insertAll(userId, deletedIds, seq,
+                                                            LocalDateTime.now()))))
+                                    .then(Mono.empty()));
+                }));
+    }
+
+    /**
+     * Create and update todos in one transaction: all creates go out as one batched INSERT and all updates
+     * as one batched UPDATE. Updates carrying a version only apply while the todo still has it. Invalid, unknown
+     * or stale items are reported per item, or fail the whole batch when atomic.
+     */
+    @Override
+    @Transactional
+    public Mono<List<TodoBatchResultDTO>> batchTodos(final TodoBatchRequestDTO request,
+                                                     final AuthenticationUserDetails userDetails) {
+        final List<TodoDTO> items = request.getItems();
+        if (items.size() > batchProperties.getMaxItems()) {
+            return Mono.error(new ApiException(ErrorCode.BATCH_TOO_LARGE));
+        }
+        final Long userId = userDetails.getUserId();
+        final TodoBatchResultDTO[] results = new TodoBatchResultDTO[items.size()];
+        final List<Integer> createIdx = new ArrayList<>();
+        final List<Integer> updateIdx = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            final TodoDTO item = items.get(i);
+            final String error = validate(item);
+            if (error != null) {
+                if (request.isAtomic()) {
+                    return Mono.error(new ApiException(ErrorCode.BATCH_REJECTED.getData() + ": item " + i + " " + error));
+                }
+                results[i] = failed(i, item, error);
+            } else if (item.getId() == null) {
+                createIdx.add(i);
+            } else {
+                updateIdx.add(i);
+            }
+        }
+
+        final List<Todo> creates = createIdx.stream().map(i -> toEntity(items.get(i), userId)).toList();
+        // updates carry the version of their item, so a concurrently edited todo is not overwritten
+        final List<Todo> updates = updateIdx.stream().map(i -> {
+            final Todo todo = toEntity(items.get(i), userId);
+            todo.setVersion(items.get(i).getVersion());
+            return todo;
+        }).toList();
+
+        // stamps the written rows; an all-failed non-atomic batch bumps needlessly, which only costs a cache miss
+        final Mono<Void> bumped = creates.isEmpty() && updates.isEmpty()
+                ? Mono.empty()
+                : todoListVersionService.bump(userId)
+                .doOnNext(seq -> {
+                    creates.forEach(todo -> todo.setChangeSeq(seq));
+                    updates.forEach(todo -> todo.setChangeSeq(seq));
+                })
+                .then();
+
+        final Mono<Void> inserted = stageMetrics.time("db.todo.batch-insert", todoDao.insertAll(creates))
+                .index()
+                .doOnNext(t -> {
+                    final int i = createIdx.get(t.getT1().intValue());
+                    final Todo todo = creates.get(t.getT1().intValue());
+                    todo.setId(t.getT2());
+                    todo.setVersion(0L);
+                    results[i] = TodoBatchResultDTO.builder().index(i).status(BatchItemStatus.CREATED).todo(toDto(todo)).build();
+                })
+                .then();
+
+        final Mono<Void> updated = stageMetrics.time("db.todo.batch-update", todoDao.updateOwned(userId, updates))
+                .index()
+                .concatMap(t -> {
+                    final int i = updateIdx.get(t.getT1().intValue());
+                    final Todo todo = updates.get(t.getT1().intValue());
+                    if (t.getT2() != TodoDao.NOT_UPDATED) {
+                        todo.setVersion(t.getT2());
+                        results[i] = TodoBatchResultDTO.builder().index(i).status(BatchItemStatus.UPDATED)
+                                .todo(toDto(todo)).build();
+                        return Mono.empty();
                     }
+                    return notUpdatedReason(userId, todo).flatMap(error -> {
+                        if (request.isAtomic()) {
+                            return Mono.error(new ApiException(ErrorCode.BATCH_REJECTED.getData() + ": item " + i + " "
+                                    + error.getData()));
+                        }
+                        results[i] = failed(i, items.get(i), error.getData());
+                        return Mono.<Void>empty();
+                    });
+                })
+                .then();
 
-                    // Convert to DTOs *before* deletion
-                    final List<TodoDTO> deletedDTOs = found.stream()
-                            .map(this::toDto)
-                            .toList();
+        final Mono<Void> published = Flux.defer(() -> Flux.fromArray(results))
+                .filter(r -> r.getStatus() != BatchItemStatus.FAILED)
+                .concatMap(r -> todoEventService.publish(userId,
+                        r.getStatus() == BatchItemStatus.CREATED ? TodoChangeType.CREATED : TodoChangeType.UPDATED, r.getTodo()))
+                .then();
 
-                    // Delete all, then emit deleted dto
-                    return todoRepository.deleteAll(found)
-                            .thenMany(Flux.fromIterable(deletedDTOs));
-                });
+        return bumped.then(inserted).then(updated).then(published).then(Mono.fromSupplier(() -> List.of(results)));
+    }
+
+    /**
+     * Why a batch update matched no row; only a versioned item is read again to tell a stale version apart.
+     */
+    private Mono<ErrorCode> notUpdatedReason(final Long userId, final Todo todo) {
+        if (todo.getVersion() == null) {
+            return Mono.just(ErrorCode.TODO_TASK_NOT_FOUND);
+        }
+        return stageMetrics.time("db.todo.find", todoRepository.findById(todo.getId()))
+                .filter(existing -> userId.equals(existing.getUserId()))
+                .map(existing -> ErrorCode.TODO_VERSION_CONFLICT)
+                .defaultIfEmpty(ErrorCode.TODO_TASK_NOT_FOUND);
+    }
+
+    private String validate(final TodoDTO item) {
+        if (item == null) {
+            return "must not be null";
+        }
+        final Set<ConstraintViolation<TodoDTO>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static TodoBatchResultDTO failed(final int index, final TodoDTO item, final String error) {
+        return TodoBatchResultDTO.builder().index(index).status(BatchItemStatus.FAILED).todo(item).error(error).build();
+    }
+
+    private static Todo toEntity(final TodoDTO dto, final Long userId) {
+        return Todo.builder()
+                .id(dto.getId())
+                .description(dto.getDescription())
+                .dueDate(dto.getDueDate())
+                .checkMark(dto.isCheckMark())
+                .completionDate(dto.getCompletionDate())
+                .userId(userId)
+                .build();
+    }
+
+    private static boolean isUnfiltered(final TodoQuery query) {
+        return query.getLimit() == null && query.getCursor() == null && query.getCheckMark() == null
+                && query.getDueFrom() == null && query.getDueTo() == null && query.getOverdue() == null;
     }
 
-    private TodoDTO toDto(final Todo t) {
+    static TodoDTO toDto(final Todo t) {
         return TodoDTO.builder()
                 .id(t.getId())
                 .description(t.getDescription())
                 .dueDate(t.getDueDate())
                 .checkMark(t.isCheckMark())
                 .completionDate(t.getCompletionDate())
+                .version(t.getVersion())
                 .build();
     }
+
+    private record PageKey(Long userId, TodoQuery query) {
+    }
 }
@@ -0,0 +1,79 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.StatelessAuthProperties;
+import com.example.todowebapp.exceptions.ApiException;
+import com.example.todowebapp.exceptions.ErrorCode;
+import com.example.todowebapp.repository.UserRepository;
+import com.example.todowebapp.security.impl.CachingUserDetailsService;
+import com.example.todowebapp.service.InvalidationEvent;
+import com.example.todowebapp.service.InvalidationListener;
+import com.example.todowebapp.service.TokenVersionService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-user token version used to revoke JWTs.
+ * Versions are cached briefly, so the revocation check is a map lookup on the hot path. The cache holds the
+ * in-flight load rather than its result: invalidating drops a pending read too, so a read that started before
+ * a revocation can never put the pre-revocation version back.
+ */
+@Slf4j
+@Service
+public class TokenVersionServiceImpl implements TokenVersionService, InvalidationListener {
+
+    private final UserRepository userRepository;
+    private final CachingUserDetailsService principalCache;
+    private final AsyncCache<Long, Long> versions;
+
+    public TokenVersionServiceImpl(final UserRepository userRepository,
+                                   final CachingUserDetailsService principalCache,
+                                   final StatelessAuthProperties properties,
+                                   final MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getVersionCacheTtl())
+                .maximumSize(properties.getVersionCacheMaximumSize())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions.synchronous(), "token-versions");
+    }
+
+    @Override
+    public Mono<Long> currentVersion(final Long userId) {
+        // the load is shared by every caller, so one caller cancelling must not cancel it
+        return Mono.fromFuture(() -> versions.get(userId,
+                (id, executor) -> userRepository.findTokenVersionById(id).toFuture()), true);
+    }
+
+    @Override
+    public Mono<Void> revokeTokens(final Long userId) {
+        return userRepository.incrementTokenVersion(userId)
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new ApiException(ErrorCode.USER_NOT_FOUND))
+                        : Mono.<Void>empty())
+                .doOnSuccess(v -> {
+                    log.info("Revoked issued tokens of user {}", userId);
+                    versions.synchronous().invalidate(userId);
+                    // cached principals carry the old version and would mint revoked tokens
+                    principalCache.evictUser(userId);
+                });
+    }
+
+    @Override
+    public void onInvalidation(final InvalidationEvent event) {
+        if (event.entity() == InvalidationEvent.Entity.USER) {
+            versions.synchronous().invalidate(event.userId());
+        }
+    }
+
+    @Override
+    public void onFlush() {
+        versions.synchronous().invalidateAll();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.TodoSyncProperties;
+import com.example.todowebapp.domain.dao.TodoTombstoneDao;
+import com.example.todowebapp.service.TombstoneCompactionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically removes tombstones older than the retention. Every instance runs it; the delete is idempotent.
+ */
+@Slf4j
+@Service
+public class TombstoneCompactionServiceImpl implements TombstoneCompactionService {
+
+    private final TodoTombstoneDao tombstoneDao;
+    private final TodoSyncProperties properties;
+    private final Counter compacted;
+    private volatile Disposable subscription;
+
+    public TombstoneCompactionServiceImpl(final TodoTombstoneDao tombstoneDao,
+                                          final TodoSyncProperties properties,
+                                          final MeterRegistry meterRegistry) {
+        this.tombstoneDao = tombstoneDao;
+        this.properties = properties;
+        this.compacted = Counter.builder("todo.tombstones.compacted")
+                .description("Todo tombstones removed after their retention")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Long> compact() {
+        return tombstoneDao.deleteOlderThan(LocalDateTime.now().minus(properties.getTombstoneRetention()))
+                .doOnNext(compacted::increment);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (subscription != null) {
+            return;
+        }
+        subscription = Flux.interval(properties.getCompactionInterval())
+                .concatMap(tick -> compact()
+                        .doOnNext(removed -> log.debug("Compacted {} todo tombstones", removed))
+                        .onErrorResume(e -> {
+                            log.warn("Todo tombstone compaction failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        final Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
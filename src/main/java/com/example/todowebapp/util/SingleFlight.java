@@ -0,0 +1,55 @@
+package com.example.todowebapp.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: while a load is in flight, further callers subscribe to it
+ * instead of starting their own. Nothing is cached; the entry is dropped as soon as the load terminates,
+ * so errors reach every current subscriber and the next caller starts a fresh load.
+ * <p>
+ * A subscriber that cancels only detaches itself; the load is cancelled once the last subscriber has gone.
+ * The load runs in the Reactor context of the subscriber that started it, so keys must capture everything
+ * that changes the result, and loads must not depend on a caller's transaction.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            final Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            final AtomicReference<Mono<V>> self = new AtomicReference<>();
+            final Mono<V> shared = Mono.defer(loader)
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .flux()
+                    // replay lets a subscriber that joins between the value and completion still see the value
+                    .replay(1)
+                    .refCount(1)
+                    .singleOrEmpty();
+            self.set(shared);
+            final Mono<V> winner = inFlight.putIfAbsent(key, shared);
+            return winner != null ? winner : shared;
+        });
+    }
+
+    /**
+     * Detaches matching keys from their in-flight loads, e.g. after a write made them stale; current subscribers
+     * still get the old result, later callers start a new load.
+     */
+    public void forget(Predicate<? super K> keys) {
+        inFlight.keySet().removeIf(keys);
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,2 @@
+-- Per-user token version; bumping it revokes every stateless JWT issued before.
+ALTER TABLE public.users ADD COLUMN token_version BIGINT NOT NULL DEFAULT 0;
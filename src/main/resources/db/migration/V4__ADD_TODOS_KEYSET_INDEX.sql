@@ -0,0 +1,2 @@
+-- Serves the per-user todo listing ordered by (due_date, id) and its keyset continuation.
+CREATE INDEX IF NOT EXISTS idx_todos_user_due_date_id ON public.todos (user_id, due_date, id);
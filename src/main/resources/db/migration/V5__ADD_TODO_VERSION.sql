@@ -0,0 +1,2 @@
+-- Optimistic locking counter for todos; bumped by every update and exposed as the ETag.
+ALTER TABLE public.todos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
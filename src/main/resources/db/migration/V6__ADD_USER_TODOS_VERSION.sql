@@ -0,0 +1,2 @@
+-- Per-user change counter for the todo list; bumped by every todo write and exposed as the listing ETag.
+ALTER TABLE public.users ADD COLUMN todos_version BIGINT NOT NULL DEFAULT 0;
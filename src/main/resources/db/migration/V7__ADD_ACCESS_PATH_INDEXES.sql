@@ -0,0 +1,6 @@
+-- Login and every authenticated request look users up by email; emails must also be unique.
+-- Fails if duplicate emails already exist; dedupe them before applying.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON public.users (email);
+
+-- todos(user_id) lookups are served by the leading column of idx_todos_user_due_date_id from V4;
+-- QueryPlanTest runs these migrations and checks that index is defined that way.
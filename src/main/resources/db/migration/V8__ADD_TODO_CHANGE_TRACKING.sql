@@ -0,0 +1,14 @@
+-- Delta sync: every todo write stamps the row with the users.todos_version it bumped to, and every delete
+-- leaves a tombstone at that version. Rows written before this migration count as version 0.
+ALTER TABLE public.todos ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_todos_user_change_seq ON public.todos (user_id, change_seq);
+
+-- No foreign keys: tombstones outlive their todo and are compacted by age.
+CREATE TABLE IF NOT EXISTS public.todo_tombstones (
+    todo_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_user_change_seq ON public.todo_tombstones (user_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_deleted_at ON public.todo_tombstones (deleted_at);
@@ -1,16 +1,31 @@
 package com.example.todowebapp.api;
 
+import com.example.todowebapp.config.PasswordHashingProperties;
+import com.example.todowebapp.config.PoolSheddingProperties;
 import com.example.todowebapp.domain.dto.IdDTO;
 import com.example.todowebapp.domain.dto.LoginData;
 import com.example.todowebapp.domain.dto.LoginResponseDTO;
+import com.example.todowebapp.domain.dto.TodoBatchRequestDTO;
+import com.example.todowebapp.domain.dto.TodoBatchResultDTO;
+import com.example.todowebapp.domain.dto.TodoChangeEventDTO;
+import com.example.todowebapp.domain.dto.TodoChangesDTO;
 import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.dto.TodoQuery;
 import com.example.todowebapp.domain.entity.Role;
 import com.example.todowebapp.domain.entity.Todo;
 import com.example.todowebapp.domain.entity.User;
+import com.example.todowebapp.domain.enumerated.BatchItemStatus;
+import com.example.todowebapp.domain.enumerated.TodoChangeType;
 import com.example.todowebapp.domain.enumerated.UserRole;
+import com.example.todowebapp.exceptions.ErrorCode;
+import com.example.todowebapp.metrics.StageMetrics;
 import com.example.todowebapp.repository.RoleRepository;
 import com.example.todowebapp.repository.TodoRepository;
 import com.example.todowebapp.repository.UserRepository;
+import com.example.todowebapp.service.PasswordHashingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,17 +33,32 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * End-to-end integration tests for TodoController API.
@@ -55,12 +85,26 @@ class TodoControllerE2ETest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private PoolSheddingProperties poolSheddingProperties;
+
+    @LocalManagementPort
+    private int managementPort;
+
     private String authToken;
     private Long userId;
     private Long roleId;
     private static final String TEST_EMAIL = "testuser@example.com";
     private static final String TEST_PASSWORD = "testpass123";
     private static final String API_BASE = "/api";
+    // spring.r2dbc.pool.max-size of the test profile
+    private static final int POOL_MAX_SIZE = 5;
 
     @BeforeEach
     void setUp() {
@@ -95,6 +139,10 @@ class TodoControllerE2ETest {
         authToken = authenticateAndGetToken();
     }
 
+    private WebTestClient managementClient() {
+        return WebTestClient.bindToServer().baseUrl("http://localhost:" + managementPort).build();
+    }
+
     /**
      * Helper method to authenticate and retrieve JWT token
      */
@@ -170,6 +218,181 @@ class TodoControllerE2ETest {
                     });
         }
 
+        @Test
+        @DisplayName("Should page through todos by due date with a cursor and apply filters")
+        void shouldPageThroughTodosWithCursor() {
+            for (int i = 1; i <= 5; i++) {
+                todoRepository.save(Todo.builder()
+                        .description("Task " + i)
+                        .dueDate(LocalDate.now().plusDays(6 - i))
+                        .checkMark(i == 3)
+                        .userId(userId)
+                        .build()).block();
+            }
+
+            var first = webTestClient.get()
+                    .uri(API_BASE + "/todos?limit=2&checkMark=false")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(TodoDTO.class)
+                    .returnResult();
+            assertThat(first.getResponseBody())
+                    .extracting(TodoDTO::getDescription)
+                    .containsExactly("Task 5", "Task 4");
+            String cursor = first.getResponseHeaders().getFirst("X-Next-Cursor");
+            assertThat(cursor).isNotBlank();
+
+            webTestClient.get()
+                    .uri(API_BASE + "/todos?limit=2&checkMark=false&cursor=" + cursor)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().doesNotExist("X-Next-Cursor")
+                    .expectBodyList(TodoDTO.class)
+                    .consumeWith(response -> assertThat(response.getResponseBody())
+                            .extracting(TodoDTO::getDescription)
+                            .containsExactly("Task 2", "Task 1"));
+        }
+
+        @Test
+        @DisplayName("Should stream todos as NDJSON in due date order")
+        void shouldStreamTodosAsNdjson() {
+            for (int i = 1; i <= 3; i++) {
+                todoRepository.save(Todo.builder()
+                        .description("Task " + i)
+                        .dueDate(LocalDate.now().plusDays(i))
+                        .checkMark(false)
+                        .userId(userId)
+                        .build()).block();
+            }
+
+            var streamed = webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    .returnResult(TodoDTO.class)
+                    .getResponseBody()
+                    .map(TodoDTO::getDescription)
+                    .collectList()
+                    .block();
+
+            assertThat(streamed).containsExactly("Task 1", "Task 2", "Task 3");
+        }
+
+        @Test
+        @DisplayName("Should answer 304 while the list is unchanged and 200 after a write")
+        void shouldRevalidateListWithETag() {
+            String etag = webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(TodoDTO.class)
+                    .getResponseHeaders()
+                    .getETag();
+            assertThat(etag).isNotBlank();
+
+            webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .header(HttpHeaders.IF_NONE_MATCH, etag)
+                    .exchange()
+                    .expectStatus().isNotModified();
+
+            webTestClient.post()
+                    .uri(API_BASE + "/todo/create")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(TodoDTO.builder().description("New task").dueDate(LocalDate.now()).build())
+                    .exchange()
+                    .expectStatus().isOk();
+
+            webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .header(HttpHeaders.IF_NONE_MATCH, etag)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(TodoDTO.class)
+                    .hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should reject a limit above the maximum page size")
+        void shouldRejectLimitAboveMaximum() {
+            webTestClient.get()
+                    .uri(API_BASE + "/todos?limit=5000")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+
+            webTestClient.get()
+                    .uri(API_BASE + "/todos?limit=" + (TodoQuery.MAX_STREAM_LIMIT + 1))
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
+        @Test
+        @DisplayName("Should serve repeated listings from cache and reload after a write")
+        void shouldCacheListingUntilWrite() {
+            final double hitsBefore = meterRegistry.get("cache.gets")
+                    .tag("cache", "todo-lists").tag("result", "hit").functionCounter().count();
+            for (int i = 0; i < 2; i++) {
+                webTestClient.get()
+                        .uri(API_BASE + "/todos")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .expectBodyList(TodoDTO.class)
+                        .hasSize(0);
+            }
+            assertThat(meterRegistry.get("cache.gets")
+                    .tag("cache", "todo-lists").tag("result", "hit").functionCounter().count())
+                    .isGreaterThan(hitsBefore);
+
+            webTestClient.post()
+                    .uri(API_BASE + "/todo/create")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(TodoDTO.builder().description("Cached task").dueDate(LocalDate.now()).build())
+                    .exchange()
+                    .expectStatus().isOk();
+
+            webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(TodoDTO.class)
+                    .hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should time request stages under the matched endpoint")
+        void shouldTimeRequestStagesPerEndpoint() {
+            webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk();
+
+            for (String stage : List.of("auth.jwt.verify", "auth.principal.load", "db.todo.page", "serialize")) {
+                assertThat(meterRegistry.find(StageMetrics.METER)
+                        .tag("stage", stage)
+                        .tag("endpoint", "GET /api/todos")
+                        .timer())
+                        .as("timer for stage %s", stage)
+                        .isNotNull()
+                        .satisfies(timer -> assertThat(timer.count()).isPositive());
+            }
+        }
+
         @Test
         @DisplayName("Should return 401 when authorization header is missing")
         void shouldReturn401WhenAuthorizationHeaderMissing() {
@@ -188,6 +411,28 @@ class TodoControllerE2ETest {
                     .exchange()
                     .expectStatus().isUnauthorized();
         }
+
+        @Test
+        @DisplayName("Should return 401 for tokens issued before a revocation")
+        void shouldRejectRevokedTokens() {
+            webTestClient.post()
+                    .uri(API_BASE + "/tokens/revoke")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isNoContent();
+
+            webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isUnauthorized();
+
+            webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticateAndGetToken())
+                    .exchange()
+                    .expectStatus().isOk();
+        }
     }
 
     @Nested
@@ -422,6 +667,79 @@ class TodoControllerE2ETest {
                     .expectStatus().isBadRequest();
         }
 
+        @Test
+        @DisplayName("Should return 412 when If-Match carries a stale version")
+        void shouldRejectStaleIfMatch() {
+            TodoDTO update = TodoDTO.builder()
+                    .id(todoId)
+                    .description("First edit")
+                    .dueDate(LocalDate.now().plusDays(1))
+                    .build();
+
+            String etag = webTestClient.put()
+                    .uri(API_BASE + "/todo/update")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(update)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                    .returnResult(TodoDTO.class)
+                    .getResponseHeaders()
+                    .getETag();
+            assertThat(etag).isEqualTo("\"1\"");
+
+            update.setDescription("Second edit from a stale tab");
+            webTestClient.put()
+                    .uri(API_BASE + "/todo/update")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(update)
+                    .exchange()
+                    .expectStatus().isEqualTo(412)
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+            var stored = todoRepository.findById(todoId).block();
+            assertThat(stored).isNotNull();
+            assertThat(stored.getDescription()).isEqualTo("First edit");
+        }
+
+        @Test
+        @DisplayName("Should fail a weak If-Match with 412 and refuse a list of tags with 400")
+        void shouldCompareIfMatchStrongly() {
+            TodoDTO update = TodoDTO.builder()
+                    .id(todoId)
+                    .description("Edit")
+                    .dueDate(LocalDate.now().plusDays(1))
+                    .build();
+
+            webTestClient.put()
+                    .uri(API_BASE + "/todo/update")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(update)
+                    .exchange()
+                    .expectStatus().isEqualTo(412);
+
+            webTestClient.put()
+                    .uri(API_BASE + "/todo/update")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .header(HttpHeaders.IF_MATCH, "\"0\", \"1\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(update)
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.msg").value(message -> assertThat(message.toString()).contains("not a list"));
+
+            var stored = todoRepository.findById(todoId).block();
+            assertThat(stored).isNotNull();
+            assertThat(stored.getDescription()).isEqualTo("Original task");
+        }
+
         @Test
         @DisplayName("Should fail when todo does not exist")
         void shouldFailWhenTodoDoesNotExist() {
@@ -559,6 +877,35 @@ class TodoControllerE2ETest {
             assertThat(remainingTodos).hasSize(1);
         }
 
+        @Test
+        @DisplayName("Should keep the list ETag when no requested todo was deleted")
+        void shouldKeepETagWhenNothingDeleted() {
+            String etag = listETag();
+
+            webTestClient.method(org.springframework.http.HttpMethod.DELETE)
+                    .uri(API_BASE + "/todo/delete")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(IdDTO.builder().ids(Set.of(Long.MAX_VALUE)).build())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(TodoDTO.class)
+                    .hasSize(0);
+
+            assertThat(listETag()).isEqualTo(etag);
+        }
+
+        private String listETag() {
+            return webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(TodoDTO.class)
+                    .getResponseHeaders()
+                    .getETag();
+        }
+
         @Test
         @DisplayName("Should delete multiple todos successfully")
         void shouldDeleteMultipleTodosSuccessfully() {
@@ -667,12 +1014,448 @@ class TodoControllerE2ETest {
                     .expectStatus().isUnauthorized();
         }
     }
-}
 
+    @Nested
+    @DisplayName("POST /api/todos/batch - Batch Create/Update Todos")
+    class BatchTodosTests {
+
+        @Test
+        @DisplayName("Should create and update valid items and report invalid ones per item")
+        void shouldApplyValidItemsAndReportFailures() {
+            Todo existing = todoRepository.save(Todo.builder()
+                    .description("Existing task")
+                    .dueDate(LocalDate.now().plusDays(1))
+                    .checkMark(false)
+                    .userId(userId)
+                    .build()).block();
+            assertThat(existing).isNotNull();
+
+            TodoBatchRequestDTO request = TodoBatchRequestDTO.builder()
+                    .items(List.of(
+                            TodoDTO.builder().description("New task").dueDate(LocalDate.now().plusDays(2)).build(),
+                            TodoDTO.builder().id(existing.getId()).description("Renamed task")
+                                    .dueDate(LocalDate.now().plusDays(3)).checkMark(true).build(),
+                            TodoDTO.builder().dueDate(LocalDate.now()).build(),
+                            TodoDTO.builder().id(Long.MAX_VALUE).description("Missing").dueDate(LocalDate.now()).build()))
+                    .build();
 
+            webTestClient.post()
+                    .uri(API_BASE + "/todos/batch")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(TodoBatchResultDTO.class)
+                    .consumeWith(response -> {
+                        var results = response.getResponseBody();
+                        assertThat(results).extracting(TodoBatchResultDTO::getStatus).containsExactly(
+                                BatchItemStatus.CREATED, BatchItemStatus.UPDATED,
+                                BatchItemStatus.FAILED, BatchItemStatus.FAILED);
+                        assertThat(results.get(0).getTodo().getId()).isNotNull();
+                    });
 
+            var todos = todoRepository.findAllByUserId(userId).collectList().block();
+            assertThat(todos).extracting(Todo::getDescription)
+                    .containsExactlyInAnyOrder("New task", "Renamed task");
+        }
 
+        @Test
+        @DisplayName("Should apply versioned updates only to the current version and return the new one")
+        void shouldCheckVersionsOfBatchUpdates() {
+            Todo current = todoRepository.save(Todo.builder()
+                    .description("Current task")
+                    .dueDate(LocalDate.now().plusDays(1))
+                    .userId(userId)
+                    .build()).block();
+            Todo stale = todoRepository.save(Todo.builder()
+                    .description("Stale task")
+                    .dueDate(LocalDate.now().plusDays(1))
+                    .userId(userId)
+                    .build()).block();
+            assertThat(current).isNotNull();
+            assertThat(stale).isNotNull();
+
+            TodoBatchRequestDTO request = TodoBatchRequestDTO.builder()
+                    .items(List.of(
+                            TodoDTO.builder().id(current.getId()).version(current.getVersion())
+                                    .description("Renamed current").dueDate(LocalDate.now()).build(),
+                            TodoDTO.builder().id(stale.getId()).version(stale.getVersion() + 1)
+                                    .description("Renamed stale").dueDate(LocalDate.now()).build()))
+                    .build();
 
+            webTestClient.post()
+                    .uri(API_BASE + "/todos/batch")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(TodoBatchResultDTO.class)
+                    .consumeWith(response -> {
+                        var results = response.getResponseBody();
+                        assertThat(results).extracting(TodoBatchResultDTO::getStatus)
+                                .containsExactly(BatchItemStatus.UPDATED, BatchItemStatus.FAILED);
+                        assertThat(results.get(0).getTodo().getVersion()).isEqualTo(current.getVersion() + 1);
+                        assertThat(results.get(1).getError()).isEqualTo(ErrorCode.TODO_VERSION_CONFLICT.getData());
+                    });
 
+            assertThat(todoRepository.findById(stale.getId()).block())
+                    .extracting(Todo::getDescription).isEqualTo("Stale task");
+        }
 
+        @Test
+        @DisplayName("Should roll back the whole batch in atomic mode when an item fails")
+        void shouldRollBackAtomicBatchOnFailure() {
+            TodoBatchRequestDTO request = TodoBatchRequestDTO.builder()
+                    .atomic(true)
+                    .items(List.of(
+                            TodoDTO.builder().description("New task").dueDate(LocalDate.now().plusDays(2)).build(),
+                            TodoDTO.builder().id(Long.MAX_VALUE).description("Missing").dueDate(LocalDate.now()).build()))
+                    .build();
 
+            webTestClient.post()
+                    .uri(API_BASE + "/todos/batch")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+
+            var todos = todoRepository.findAllByUserId(userId).collectList().block();
+            assertThat(todos).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/todos/changes - Delta sync")
+    class DeltaSyncTests {
+
+        private TodoChangesDTO changes(String since) {
+            TodoChangesDTO changes = webTestClient.get()
+                    .uri(uri -> uri.path(API_BASE + "/todos/changes").queryParamIfPresent("since", Optional.ofNullable(since)).build())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(TodoChangesDTO.class)
+                    .returnResult()
+                    .getResponseBody();
+            assertThat(changes).isNotNull();
+            return changes;
+        }
+
+        private TodoDTO create(String description) {
+            return webTestClient.post()
+                    .uri(API_BASE + "/todo/create")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(TodoDTO.builder().description(description).dueDate(LocalDate.now()).build())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(TodoDTO.class)
+                    .returnResult()
+                    .getResponseBody();
+        }
+
+        @Test
+        @DisplayName("Should return only writes and tombstones since the token")
+        void shouldReturnDeltaSinceToken() {
+            TodoDTO kept = create("Kept");
+            TodoDTO removed = create("Removed");
+
+            TodoChangesDTO full = changes(null);
+            assertThat(full.isReset()).isTrue();
+            assertThat(full.getChanged()).extracting(TodoDTO::getDescription).containsExactlyInAnyOrder("Kept", "Removed");
+
+            TodoChangesDTO unchanged = changes(full.getSyncToken());
+            assertThat(unchanged.isReset()).isFalse();
+            assertThat(unchanged.getChanged()).isEmpty();
+            assertThat(unchanged.getDeleted()).isEmpty();
+
+            TodoDTO added = create("Added");
+            webTestClient.method(org.springframework.http.HttpMethod.DELETE)
+                    .uri(API_BASE + "/todo/delete")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(IdDTO.builder().ids(Set.of(removed.getId())).build())
+                    .exchange()
+                    .expectStatus().isOk();
+
+            TodoChangesDTO delta = changes(full.getSyncToken());
+            assertThat(delta.isReset()).isFalse();
+            assertThat(delta.getChanged()).extracting(TodoDTO::getId).containsExactly(added.getId());
+            assertThat(delta.getDeleted()).containsExactly(removed.getId());
+            assertThat(delta.getSyncToken()).isNotEqualTo(full.getSyncToken());
+            assertThat(kept.getId()).isNotIn(delta.getChanged().stream().map(TodoDTO::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should keep concurrent update and delete of one todo consistent")
+        void shouldSerializeConcurrentUpdateAndDelete() {
+            TodoChangesDTO full = changes(null);
+            List<Long> removed = new ArrayList<>();
+
+            for (int round = 0; round < 5; round++) {
+                final int attempt = round;
+                TodoDTO todo = create("Contended " + round);
+                removed.add(todo.getId());
+
+                CompletableFuture<HttpStatus> update = CompletableFuture.supplyAsync(() -> status(webTestClient.put()
+                        .uri(API_BASE + "/todo/update")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(TodoDTO.builder()
+                                .id(todo.getId())
+                                .description("Updated " + attempt)
+                                .dueDate(todo.getDueDate())
+                                .build())));
+                CompletableFuture<HttpStatus> delete = CompletableFuture.supplyAsync(() -> status(webTestClient
+                        .method(org.springframework.http.HttpMethod.DELETE)
+                        .uri(API_BASE + "/todo/delete")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(IdDTO.builder().ids(Set.of(todo.getId())).build())));
+
+                assertThat(update.join().is5xxServerError()).as("update status").isFalse();
+                assertThat(delete.join()).isEqualTo(HttpStatus.OK);
+            }
+
+            assertThat(todoRepository.findAllByUserId(userId).collectList().block()).isEmpty();
+            TodoChangesDTO delta = changes(full.getSyncToken());
+            assertThat(delta.getChanged()).isEmpty();
+            assertThat(delta.getDeleted()).containsExactlyInAnyOrderElementsOf(removed);
+        }
+
+        private HttpStatus status(WebTestClient.RequestHeadersSpec<?> request) {
+            return HttpStatus.valueOf(request.exchange().returnResult(Void.class).getStatus().value());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed sync token")
+        void shouldRejectMalformedToken() {
+            webTestClient.get()
+                    .uri(API_BASE + "/todos/changes?since=not-a-token")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
+
+    @Nested
+    @DisplayName("Connection pool observability")
+    class ConnectionPoolTests {
+
+        @Test
+        @DisplayName("Should report pool state in readiness and time connection acquisition")
+        void shouldExposePoolStateAndAcquireTime() {
+            webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk();
+
+            // details only for authenticated callers
+            managementClient().get()
+                    .uri("/actuator/health/readiness")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.status").isEqualTo("UP")
+                    .jsonPath("$.components").doesNotExist();
+            managementClient().get()
+                    .uri("/actuator/health/readiness")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.status").isEqualTo("UP")
+                    .jsonPath("$.components.connectionPool.details.pending").isEqualTo(0);
+
+            assertThat(meterRegistry.find("r2dbc.pool.pending").gauge()).isNotNull();
+            assertThat(meterRegistry.find(StageMetrics.METER)
+                    .tag("stage", "db.pool.acquire")
+                    .tag("endpoint", "GET /api/todos")
+                    .timer())
+                    .isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should shed requests with 503 and leave rotation while callers queue for a connection")
+        void shouldShedWhilePoolIsBackedUp() {
+            final int threshold = poolSheddingProperties.getPendingThreshold();
+            final List<Connection> held = new ArrayList<>();
+            Disposable pending = null;
+            try {
+                // take every pooled connection, then queue one more caller behind them
+                for (int i = 0; i < POOL_MAX_SIZE; i++) {
+                    held.add(Mono.from(connectionFactory.create()).block(Duration.ofSeconds(5)));
+                }
+                pending = Mono.from(connectionFactory.create())
+                        .flatMap(connection -> Mono.from(connection.close()))
+                        .subscribe();
+                poolSheddingProperties.setPendingThreshold(0);
+
+                webTestClient.get()
+                        .uri(API_BASE + "/todos")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                        .exchange()
+                        .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                        .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                        .expectBody()
+                        .jsonPath("$.httpStatus").isEqualTo("SERVICE_UNAVAILABLE")
+                        .jsonPath("$.msg").isEqualTo(ErrorCode.DATABASE_SATURATED.getData());
+
+                managementClient().get()
+                        .uri("/actuator/health/readiness")
+                        .exchange()
+                        .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                        .expectBody()
+                        .jsonPath("$.status").isEqualTo("OUT_OF_SERVICE");
+            } finally {
+                poolSheddingProperties.setPendingThreshold(threshold);
+                held.forEach(connection -> Mono.from(connection.close()).block(Duration.ofSeconds(5)));
+                if (pending != null) {
+                    pending.dispose();
+                }
+            }
+
+            webTestClient.get()
+                    .uri(API_BASE + "/todos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+    }
+
+    @Nested
+    @DisplayName("Actuator exposure")
+    class ActuatorTests {
+
+        @Test
+        @DisplayName("Should serve probes anonymously on the management port only")
+        void shouldKeepActuatorOffThePublicPort() {
+            managementClient().get()
+                    .uri("/actuator/health/readiness")
+                    .exchange()
+                    .expectStatus().isOk();
+            managementClient().get()
+                    .uri("/actuator/metrics")
+                    .exchange()
+                    .expectStatus().isUnauthorized();
+
+            webTestClient.get()
+                    .uri("/actuator/prometheus")
+                    .exchange()
+                    .expectStatus().isUnauthorized();
+            webTestClient.get()
+                    .uri("/actuator/health/readiness")
+                    .exchange()
+                    .expectStatus().isUnauthorized();
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/login - Password hashing admission control")
+    class PasswordHashingTests {
+
+        @Autowired
+        private PasswordHashingService passwordHashingService;
+
+        @Autowired
+        private PasswordHashingProperties passwordHashingProperties;
+
+        @Test
+        @DisplayName("Should answer 503 with Retry-After while every hashing thread and queue slot is taken")
+        void shouldRejectLoginWhenHashingIsSaturated() throws InterruptedException {
+            final int threads = Math.max(1, passwordHashingProperties.getThreads());
+            final CountDownLatch running = new CountDownLatch(threads);
+            final CountDownLatch release = new CountDownLatch(1);
+            try {
+                // hold every thread first, so nothing drains the queue once it is full
+                for (int i = 0; i < threads; i++) {
+                    passwordHashingService.scheduler().schedule(() -> {
+                        running.countDown();
+                        awaitQuietly(release);
+                    });
+                }
+                assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+                assertThatThrownBy(() -> {
+                    while (true) {
+                        passwordHashingService.scheduler().schedule(() -> awaitQuietly(release));
+                    }
+                }).isInstanceOf(RejectedExecutionException.class);
+
+                webTestClient.post()
+                        .uri(API_BASE + "/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(LoginData.builder().email(TEST_EMAIL).password(TEST_PASSWORD).build())
+                        .exchange()
+                        .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                        .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1");
+            } finally {
+                release.countDown();
+            }
+
+            authenticateAndGetToken();
+        }
+
+        private static void awaitQuietly(CountDownLatch latch) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/todos/events - Todo change feed")
+    class TodoEventsTests {
+
+        private final ParameterizedTypeReference<ServerSentEvent<TodoChangeEventDTO>> eventType =
+                new ParameterizedTypeReference<>() {
+                };
+
+        @Test
+        @DisplayName("Should push committed changes and ask an unknown resume point to resync")
+        void shouldPushChangesAndResync() {
+            var events = webTestClient.get()
+                    .uri(API_BASE + "/todos/events")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(eventType)
+                    .getResponseBody()
+                    .filter(event -> event.data() != null);
+
+            webTestClient.post()
+                    .uri(API_BASE + "/todo/create")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(TodoDTO.builder().description("Live task").dueDate(LocalDate.now()).build())
+                    .exchange()
+                    .expectStatus().isOk();
+
+            ServerSentEvent<TodoChangeEventDTO> created = events.blockFirst(Duration.ofSeconds(10));
+            assertThat(created).isNotNull();
+            assertThat(created.id()).isNotBlank();
+            assertThat(created.data().getType()).isEqualTo(TodoChangeType.CREATED);
+            assertThat(created.data().getTodo().getDescription()).isEqualTo("Live task");
+
+            ServerSentEvent<TodoChangeEventDTO> resync = webTestClient.get()
+                    .uri(API_BASE + "/todos/events")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                    .header("Last-Event-ID", "unknown-1")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(eventType)
+                    .getResponseBody()
+                    .filter(event -> event.data() != null)
+                    .blockFirst(Duration.ofSeconds(10));
+            assertThat(resync).isNotNull();
+            assertThat(resync.data().getType()).isEqualTo(TodoChangeType.RESYNC);
+        }
+    }
+}
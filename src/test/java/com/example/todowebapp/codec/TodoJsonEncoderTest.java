@@ -0,0 +1,131 @@
+package com.example.todowebapp.codec;
+
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@link TodoJsonEncoder} writes exactly the bytes Jackson writes with Spring Boot's defaults.
+ */
+@DisplayName("TodoJsonEncoder")
+class TodoJsonEncoderTest {
+
+    private static final DefaultDataBufferFactory FACTORY = DefaultDataBufferFactory.sharedInstance;
+    private static final ResolvableType TODO = ResolvableType.forClass(TodoDTO.class);
+    private static final ResolvableType TODO_LIST = ResolvableType.forClassWithGenerics(List.class, TodoDTO.class);
+
+    private final Jackson2JsonEncoder jackson = new Jackson2JsonEncoder(Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build());
+    private final TodoJsonEncoder encoder = new TodoJsonEncoder();
+
+    static Stream<TodoDTO> todos() {
+        return Stream.of(
+                todo(1L, "Buy milk", LocalDate.of(2026, 1, 1), false, null, 0L),
+                todo(null, null, null, false, null, null),
+                todo(42L, "Done", LocalDate.of(2026, 12, 31), true, LocalDate.of(2026, 11, 30), 7L),
+                todo(Long.MAX_VALUE, "quote \" backslash \\ slash /", LocalDate.of(1, 1, 1), false, null, Long.MIN_VALUE),
+                todo(-5L, "controls \b\t\n\f\r \u0000\u0001\u001f\u007f", LocalDate.of(9999, 12, 31), false, null, -1L),
+                todo(10L, "unicode é ü ß 日本語   😀 𝄞", LocalDate.of(10_000, 1, 1), true, LocalDate.of(-5, 3, 4), 1L),
+                todo(11L, "", LocalDate.of(0, 6, 15), false, null, 100L),
+                todo(12L, "unpaired \ud83d and \ude00", LocalDate.of(2026, 2, 28), false, null, 2L));
+    }
+
+    @ParameterizedTest
+    @MethodSource("todos")
+    @DisplayName("Single value matches Jackson")
+    void encodesValueLikeJackson(TodoDTO todo) {
+        assertThat(json(encoder.encodeValue(todo, FACTORY, TODO, MediaType.APPLICATION_JSON, null)))
+                .isEqualTo(json(jackson.encodeValue(todo, FACTORY, TODO, MediaType.APPLICATION_JSON, null)));
+    }
+
+    @Test
+    @DisplayName("List, array stream, empty stream and NDJSON stream match Jackson")
+    void encodesCollectionsAndStreamsLikeJackson() {
+        final List<TodoDTO> todos = todos().toList();
+
+        assertThat(json(encoder.encodeValue(todos, FACTORY, TODO_LIST, MediaType.APPLICATION_JSON, null)))
+                .isEqualTo(json(jackson.encodeValue(todos, FACTORY, TODO_LIST, MediaType.APPLICATION_JSON, null)));
+        assertThat(json(encoder, Flux.fromIterable(todos), MediaType.APPLICATION_JSON))
+                .isEqualTo(json(jackson, Flux.fromIterable(todos), MediaType.APPLICATION_JSON));
+        assertThat(json(encoder, Flux.empty(), MediaType.APPLICATION_JSON))
+                .isEqualTo(json(jackson, Flux.empty(), MediaType.APPLICATION_JSON));
+        assertThat(json(encoder, Flux.fromIterable(todos), MediaType.APPLICATION_NDJSON))
+                .isEqualTo(json(jackson, Flux.fromIterable(todos), MediaType.APPLICATION_NDJSON));
+        assertThat(json(encoder, Mono.just(todos.get(0)), MediaType.APPLICATION_JSON))
+                .isEqualTo(json(jackson, Mono.just(todos.get(0)), MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Writes exactly the properties Jackson knows for TodoDTO, in Jackson's order")
+    void writesJacksonPropertySet() throws Exception {
+        final ObjectMapper mapper = jackson.getObjectMapper();
+        final List<String> jacksonProperties = mapper.getSerializationConfig()
+                .introspect(mapper.constructType(TodoDTO.class))
+                .findProperties().stream()
+                .map(BeanPropertyDefinition::getName)
+                .toList();
+        final TodoDTO todo = todo(1L, "Buy milk", LocalDate.of(2026, 1, 1), true, LocalDate.of(2026, 1, 2), 3L);
+
+        final List<String> written = new ArrayList<>();
+        mapper.readTree(json(encoder.encodeValue(todo, FACTORY, TODO, MediaType.APPLICATION_JSON, null)))
+                .fieldNames()
+                .forEachRemaining(written::add);
+
+        // a field added to TodoDTO but not to the encoder fails here by name, not as a byte mismatch
+        assertThat(written).containsExactlyElementsOf(jacksonProperties);
+    }
+
+    @Test
+    @DisplayName("Only claims todos and todo collections as JSON")
+    void canEncodeTodosOnly() {
+        assertThat(encoder.canEncode(TODO, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(encoder.canEncode(TODO_LIST, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(encoder.canEncode(TODO, MediaType.APPLICATION_NDJSON)).isTrue();
+        assertThat(encoder.canEncode(TODO, MediaType.TEXT_EVENT_STREAM)).isFalse();
+        assertThat(encoder.canEncode(ResolvableType.forClass(Object.class), MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(encoder.canEncode(ResolvableType.forClassWithGenerics(List.class, String.class), null)).isFalse();
+    }
+
+    private static String json(HttpMessageEncoder<Object> encoder, Publisher<TodoDTO> todos, MimeType mimeType) {
+        return json(DataBufferUtils.join(encoder.encode(todos, FACTORY, TODO, mimeType, null)).block());
+    }
+
+    private static String json(DataBuffer buffer) {
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static TodoDTO todo(Long id, String description, LocalDate dueDate, boolean checkMark,
+                                LocalDate completionDate, Long version) {
+        return new TodoDTO(id, description, dueDate, checkMark, completionDate, version);
+    }
+}
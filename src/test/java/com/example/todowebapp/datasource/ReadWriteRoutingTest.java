@@ -0,0 +1,191 @@
+package com.example.todowebapp.datasource;
+
+import com.example.todowebapp.domain.dto.LoginData;
+import com.example.todowebapp.domain.dto.LoginResponseDTO;
+import com.example.todowebapp.domain.dto.RegisterData;
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.enumerated.UserRole;
+import com.example.todowebapp.metrics.ConnectionPoolMonitor;
+import com.example.todowebapp.service.InvalidationEvent;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary and replica are two separate H2 databases that are never synchronised, so which one served a read
+ * is visible from its result.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+@DisplayName("Read/write routing")
+class ReadWriteRoutingTest {
+
+    private static final String H2_OPTIONS = ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL";
+    private static final String PRIMARY_URL = "r2dbc:h2:mem:///routing-primary" + H2_OPTIONS;
+    private static final String REPLICA_URL = "r2dbc:h2:mem:///routing-replica" + H2_OPTIONS;
+    private static final long WINDOW_MILLIS = 1_000;
+    private static final String EMAIL = "routing@example.com";
+    private static final String PASSWORD = "routing123";
+
+    private static DatabaseClient replica;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient primary;
+
+    @Autowired
+    private ConnectionPoolMonitor poolMonitor;
+
+    @Autowired
+    private ReadYourWritesTracker tracker;
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        final ConnectionFactory replicaFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(REPLICA_URL)
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, "sa")
+                .option(ConnectionFactoryOptions.PASSWORD, "")
+                .build());
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(replicaFactory).block();
+        replica = DatabaseClient.create(replicaFactory);
+
+        registry.add("spring.r2dbc.url", () -> PRIMARY_URL);
+        registry.add("todo.datasource.replicas[0].url", () -> REPLICA_URL);
+        registry.add("todo.datasource.read-your-writes-window", () -> WINDOW_MILLIS + "ms");
+        // every listing has to reach a database for the routing to be observable
+        registry.add("todo.list-cache.enabled", () -> "false");
+    }
+
+    @Test
+    @DisplayName("Writes go to the primary, reads to the replica once the read-your-writes window has passed")
+    void routesReadsToReplicaAfterStickinessWindow() throws InterruptedException {
+        // login right after register only works because the new email is sticky to the primary
+        final String token = registerAndLogin();
+        copyUsersToReplica();
+
+        webTestClient.post()
+                .uri("/api/todo/create")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .bodyValue(TodoDTO.builder().description("written").dueDate(LocalDate.now().plusDays(1)).build())
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(count(primary)).isEqualTo(1);
+        assertThat(count(replica)).isZero();
+
+        assertThat(descriptions(token)).containsExactly("written");
+
+        Thread.sleep(WINDOW_MILLIS + 200);
+        assertThat(descriptions(token)).isEmpty();
+
+        replica.sql("""
+                INSERT INTO todos (description, due_date, check_mark, user_id)
+                SELECT 'replicated', CURRENT_DATE, FALSE, id FROM users WHERE email = :email
+                """)
+                .bind("email", EMAIL)
+                .then()
+                .block();
+        assertThat(descriptions(token)).containsExactly("replicated");
+    }
+
+    @Test
+    @DisplayName("Replica pools count for load shedding, and writes or registrations on other instances make reads sticky here")
+    void monitorsReplicaPoolsAndFollowsRemoteWrites() {
+        assertThat(poolMonitor.metrics()).containsOnlyKeys(ConnectionPoolMonitor.PRIMARY, "replica-0");
+
+        final String key = ReadOnlyRouting.userKey(424242L);
+        assertThat(tracker.isSticky(key)).isFalse();
+        tracker.onInvalidation(new InvalidationEvent(424242L, InvalidationEvent.Entity.TODOS, 1L));
+        assertThat(tracker.isSticky(key)).isTrue();
+
+        // registered on another instance: the login that follows reads the user from the primary here
+        final String email = ReadOnlyRouting.emailKey("elsewhere@example.com");
+        tracker.onInvalidation(new InvalidationEvent(424243L, InvalidationEvent.Entity.USER, 0, "elsewhere@example.com"));
+        assertThat(tracker.isSticky(email)).isTrue();
+    }
+
+    private String registerAndLogin() {
+        webTestClient.post()
+                .uri("/api/register")
+                .bodyValue(RegisterData.builder()
+                        .firstName("Routing")
+                        .lastName("User")
+                        .email(EMAIL)
+                        .password(PASSWORD)
+                        .userRole(UserRole.ROLE_BASIC_USER)
+                        .build())
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+
+        final LoginResponseDTO login = webTestClient.post()
+                .uri("/api/login")
+                .bodyValue(LoginData.builder().email(EMAIL).password(PASSWORD).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LoginResponseDTO.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(login).isNotNull();
+        return login.getToken();
+    }
+
+    private void copyUsersToReplica() {
+        primary.sql("SELECT id, email, password, name, last_name, role_id, is_system FROM users")
+                .fetch()
+                .all()
+                .concatMap(row -> replica.sql("""
+                                INSERT INTO users (id, email, password, name, last_name, role_id, is_system)
+                                VALUES (:id, :email, :password, :name, :lastName, :roleId, :system)
+                                """)
+                        .bind("id", row.get("ID"))
+                        .bind("email", row.get("EMAIL"))
+                        .bind("password", row.get("PASSWORD"))
+                        .bind("name", row.get("NAME"))
+                        .bind("lastName", row.get("LAST_NAME"))
+                        .bind("roleId", row.get("ROLE_ID"))
+                        .bind("system", row.get("IS_SYSTEM"))
+                        .then())
+                .blockLast();
+    }
+
+    private List<String> descriptions(String token) {
+        return webTestClient.get()
+                .uri("/api/todos")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TodoDTO.class)
+                .returnResult()
+                .getResponseBody()
+                .stream()
+                .map(TodoDTO::getDescription)
+                .toList();
+    }
+
+    private static long count(DatabaseClient client) {
+        return client.sql("SELECT COUNT(*) FROM todos")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+}
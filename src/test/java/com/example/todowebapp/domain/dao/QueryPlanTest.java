@@ -0,0 +1,207 @@
+package com.example.todowebapp.domain.dao;
+
+import com.example.todowebapp.domain.dto.TodoQuery;
+import com.example.todowebapp.repository.UserRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a large dataset into a dedicated H2 database migrated with the Flyway scripts and checks with {@code EXPLAIN}
+ * that the repository and DAO queries reach their rows through an index rather than a table scan.
+ * DAO and {@code @Query} statements are explained as sent, with their parameters bound; derived repository
+ * queries have no SQL to reach, so their statements are spelled out the way Spring Data renders them.
+ */
+@DisplayName("Query plan regression")
+class QueryPlanTest {
+
+    private static final int USERS = 10_000;
+    private static final int TODOS = 100_000;
+    private static final String H2_OPTIONS = ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    private static DatabaseClient client;
+
+    @BeforeAll
+    static void seed() {
+        // the schema and its indexes come from the production migrations, not the hand-written test schema
+        Flyway.configure()
+                .dataSource("jdbc:h2:mem:queryplans" + H2_OPTIONS, "sa", "")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        final ConnectionFactory connectionFactory = ConnectionFactories.get(
+                ConnectionFactoryOptions.parse("r2dbc:h2:mem:///queryplans" + H2_OPTIONS)
+                        .mutate()
+                        .option(ConnectionFactoryOptions.USER, "sa")
+                        .option(ConnectionFactoryOptions.PASSWORD, "")
+                        .build());
+        client = DatabaseClient.create(connectionFactory);
+
+        client.sql("""
+                INSERT INTO users (email, password, name, last_name, role_id, is_system)
+                SELECT 'user' || x || '@example.com', 'secret', 'Name', 'Last', 1 + MOD(x, 4), FALSE
+                FROM SYSTEM_RANGE(1, %d)
+                """.formatted(USERS)).then().block();
+        client.sql("""
+                INSERT INTO todos (description, due_date, check_mark, completion_date, user_id)
+                SELECT 'task ' || x, DATEADD('DAY', MOD(x, 365), DATE '2026-01-01'), MOD(x, 2) = 0, NULL,
+                       (SELECT MIN(id) FROM users) + MOD(x, %d)
+                FROM SYSTEM_RANGE(1, %d)
+                """.formatted(USERS, TODOS)).then().block();
+        client.sql("ANALYZE").then().block();
+    }
+
+    static Stream<Arguments> queries() {
+        final TodoQuery afterCursor = TodoQuery.builder()
+                .cursor(new TodoCursor(LocalDate.of(2026, 3, 1), 100).encode())
+                .build();
+        final TodoDaoImpl.Select page = TodoDaoImpl.select(42L, afterCursor, 51);
+        final Map<String, Object> update = Map.of(
+                "description", "x", "dueDate", LocalDate.of(2026, 1, 1), "checkMark", false,
+                "completionDate", LocalDate.of(2026, 1, 1), "changeSeq", 1L, "id", 42L, "userId", 42L,
+                "version", 0L);
+        final Map<String, Object> changeRange = Map.of("userId", 42L, "afterSeq", 10L, "upToSeq", 20L);
+
+        return Stream.of(
+                // TodoRepository
+                plan("TodoRepository.findAllByUserId",
+                        "SELECT todos.* FROM todos WHERE todos.user_id = 42", Map.of(), "TODOS"),
+                plan("TodoRepository.findAllByIdInAndUserId",
+                        "SELECT todos.* FROM todos WHERE todos.id IN (1, 2, 3) AND todos.user_id = 42", Map.of(),
+                        "TODOS"),
+                plan("TodoRepository.findById",
+                        "SELECT todos.* FROM todos WHERE todos.id = 42", Map.of(), "TODOS"),
+                // UserRepository
+                plan("UserRepository.findByEmail",
+                        "SELECT users.* FROM users WHERE users.email = 'user42@example.com'", Map.of(), "USERS"),
+                plan("UserRepository.findTokenVersionById",
+                        query("findTokenVersionById"), Map.of("id", 42L), "USERS"),
+                plan("UserRepository.incrementTokenVersion",
+                        query("incrementTokenVersion"), Map.of("id", 42L), "USERS"),
+                plan("UserRepository.findTodosVersionById",
+                        query("findTodosVersionById"), Map.of("id", 42L), "USERS"),
+                plan("UserRepository.lockTodosVersionById",
+                        query("lockTodosVersionById"), Map.of("id", 42L), "USERS"),
+                plan("UserRepository.incrementTodosVersion",
+                        query("incrementTodosVersion"), Map.of("id", 42L), "USERS"),
+                // RolePrivilegeDaoImpl; findAllAuthorities reads the whole mapping by design,
+                // only the privilege side of the join has to be an index lookup
+                plan("RolePrivilegeDaoImpl.findByRoleId",
+                        RolePrivilegeDaoImpl.FIND_BY_ROLE_ID, Map.of("roleId", 1L), "ROLES_PRIVILEGES"),
+                plan("RolePrivilegeDaoImpl.findAllAuthorities",
+                        RolePrivilegeDaoImpl.FIND_ALL_AUTHORITIES, Map.of(), "PRIVILEGES"),
+                // DAOs on the request path
+                plan("UserDetailsDaoImpl.findByEmail",
+                        UserDetailsDaoImpl.FIND_BY_EMAIL, Map.of("email", "user42@example.com"), "USERS"),
+                plan("TodoDaoImpl.findPage", page.sql(), page.params(), "TODOS"),
+                plan("TodoDaoImpl.deleteOwned",
+                        TodoDaoImpl.DELETE_OWNED_H2, Map.of("userId", 42L, "ids", new Long[]{1L, 2L, 3L}), "TODOS"),
+                plan("TodoDaoImpl.updateIfMatch", TodoDaoImpl.updateIfMatch(true, true), update, "TODOS"),
+                plan("TodoDaoImpl.findChanged", TodoDaoImpl.FIND_CHANGED, changeRange, "TODOS"),
+                // TodoTombstoneDaoImpl
+                plan("TodoTombstoneDaoImpl.findDeleted",
+                        TodoTombstoneDaoImpl.FIND_DELETED, changeRange, "TODO_TOMBSTONES"),
+                plan("TodoTombstoneDaoImpl.deleteOlderThan",
+                        TodoTombstoneDaoImpl.DELETE_OLDER_THAN,
+                        Map.of("cutoff", LocalDateTime.of(2026, 1, 1, 0, 0)), "TODO_TOMBSTONES")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    @DisplayName("Query reaches its rows through an index")
+    void usesIndex(String name, String sql, Map<String, Object> params, List<String> indexedTables) {
+        final String plan = explain(sql, params);
+
+        for (String table : indexedTables) {
+            assertThat(plan)
+                    .as("plan of %s scans %s:%n%s", name, table, plan)
+                    .doesNotContain("PUBLIC." + table + ".tableScan");
+        }
+    }
+
+    static Stream<Arguments> migratedIndexes() {
+        return Stream.of(
+                // listing, its keyset continuation and every todos(user_id) lookup
+                Arguments.of("TODOS", "IDX_TODOS_USER_DUE_DATE_ID", "USER_ID,DUE_DATE,ID"),
+                Arguments.of("USERS", "UX_USERS_EMAIL", "EMAIL"),
+                Arguments.of("TODOS", "IDX_TODOS_USER_CHANGE_SEQ", "USER_ID,CHANGE_SEQ"),
+                Arguments.of("TODO_TOMBSTONES", "IDX_TODO_TOMBSTONES_USER_CHANGE_SEQ", "USER_ID,CHANGE_SEQ"),
+                Arguments.of("TODO_TOMBSTONES", "IDX_TODO_TOMBSTONES_DELETED_AT", "DELETED_AT"));
+    }
+
+    /**
+     * H2 indexes foreign keys on its own, so its plans can look fine without the migration indexes Postgres
+     * depends on; their definitions are checked here.
+     */
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("migratedIndexes")
+    @DisplayName("Migrations define the indexes the access paths rely on")
+    void migrationsDefineIndex(String table, String index, String columns) {
+        final Map<String, String> indexes = client.sql("""
+                        SELECT INDEX_NAME, LISTAGG(COLUMN_NAME, ',') WITHIN GROUP (ORDER BY ORDINAL_POSITION) AS COLS
+                        FROM INFORMATION_SCHEMA.INDEX_COLUMNS
+                        WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = :table
+                        GROUP BY INDEX_NAME
+                        """)
+                .bind("table", table)
+                .map(row -> Map.entry(row.get("INDEX_NAME", String.class), row.get("COLS", String.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+
+        assertThat(indexes).containsEntry(index, columns);
+    }
+
+    @Test
+    @DisplayName("Unindexed predicate shows up as a table scan")
+    void detectsTableScan() {
+        // guards the assertion above against a change in H2's plan format
+        assertThat(explain("SELECT todos.* FROM todos WHERE todos.description = :description",
+                Map.of("description", "task 42")))
+                .contains("PUBLIC.TODOS.tableScan");
+    }
+
+    private static String explain(String sql, Map<String, Object> params) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql("EXPLAIN " + sql);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec
+                .map(row -> row.get(0, String.class))
+                .all()
+                .collectList()
+                .map(rows -> String.join("\n", rows))
+                .block();
+    }
+
+    private static String query(String repositoryMethod) {
+        for (var method : UserRepository.class.getMethods()) {
+            if (method.getName().equals(repositoryMethod)) {
+                return method.getAnnotation(Query.class).value();
+            }
+        }
+        throw new IllegalArgumentException("No such repository method: " + repositoryMethod);
+    }
+
+    private static Arguments plan(String name, String sql, Map<String, Object> params, String... indexedTables) {
+        return Arguments.of(name, sql, params, List.of(indexedTables));
+    }
+}
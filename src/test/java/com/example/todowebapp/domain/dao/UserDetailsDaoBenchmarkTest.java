@@ -0,0 +1,142 @@
+package com.example.todowebapp.domain.dao;
+
+import com.example.todowebapp.domain.entity.Role;
+import com.example.todowebapp.domain.entity.User;
+import com.example.todowebapp.domain.enumerated.UserRole;
+import com.example.todowebapp.repository.PrivilegeRepository;
+import com.example.todowebapp.repository.RoleRepository;
+import com.example.todowebapp.repository.TodoRepository;
+import com.example.todowebapp.repository.UserRepository;
+import com.example.todowebapp.security.AuthenticationUserDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the single-statement {@link UserDetailsDao} with the previous four-query principal load
+ * (user, role, role privileges, privileges) on the H2 test profile.
+ * Excluded from the default build; run with {@code mvn test -Dtest.excludedGroups= -Dgroups=benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@DisplayName("UserDetailsDao benchmark")
+class UserDetailsDaoBenchmarkTest {
+
+    private static final String EMAIL = "benchmark@example.com";
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 500);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000);
+
+    @Autowired
+    private UserDetailsDao userDetailsDao;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PrivilegeRepository privilegeRepository;
+
+    @Autowired
+    private RolePrivilegeDao rolePrivilegeDao;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+        Role role = roleRepository.findByUserRole(UserRole.ROLE_BASIC_USER).block();
+        assertThat(role).isNotNull();
+        userRepository.save(User.builder()
+                .email(EMAIL)
+                .password("hash")
+                .name("Bench")
+                .lastName("Mark")
+                .roleId(role.getId())
+                .system(false)
+                .build()).block();
+    }
+
+    @Test
+    @DisplayName("Single joined statement vs four-query chain")
+    void compareWithFourQueryChain() {
+        AuthenticationUserDetails joined = userDetailsDao.findByEmail(EMAIL).block();
+        AuthenticationUserDetails chained = loadWithFourQueries(EMAIL).block();
+        assertThat(joined).isNotNull();
+        assertThat(chained).isNotNull();
+        assertThat(joined.getUserId()).isEqualTo(chained.getUserId());
+        assertThat(joined.getUserRole()).isEqualTo(chained.getUserRole());
+        assertThat(joined.getAuthorities()).isEqualTo(chained.getAuthorities());
+
+        double chainNanos = measure(() -> loadWithFourQueries(EMAIL));
+        double joinNanos = measure(() -> userDetailsDao.findByEmail(EMAIL));
+
+        log.info("Principal load, {} iterations: four-query chain {} us/op, joined statement {} us/op ({}x)",
+                ITERATIONS, "%.1f".formatted(chainNanos / 1_000), "%.1f".formatted(joinNanos / 1_000),
+                "%.2f".formatted(chainNanos / joinNanos));
+    }
+
+    private double measure(Supplier<Mono<AuthenticationUserDetails>> load) {
+        for (int i = 0; i < WARMUP; i++) {
+            load.get().block();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            load.get().block();
+        }
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+
+    /**
+     * The principal load as UserDetailsServiceImpl performed it before the joined query.
+     */
+    private Mono<AuthenticationUserDetails> loadWithFourQueries(String email) {
+        return userRepository.findByEmail(email).flatMap(u -> {
+            Mono<Optional<UserRole>> role = roleRepository.findById(u.getRoleId())
+                    .map(Role::getUserRole)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty());
+            Mono<List<GrantedAuthority>> authorities = rolePrivilegeDao.findByRoleId(u.getRoleId())
+                    .map(RolePrivilegeRow::getPrivilegeId)
+                    .collectList()
+                    .flatMap(ids -> privilegeRepository.findAllById(ids)
+                            .map(p -> new SimpleGrantedAuthority(p.getUserPrivilege().name()))
+                            .cast(GrantedAuthority.class)
+                            .sort(Comparator.comparing(GrantedAuthority::getAuthority))
+                            .collectList());
+            return Mono.zip(role, authorities).map(t -> AuthenticationUserDetails.authBuilder()
+                    .userId(u.getId())
+                    .username(u.getEmail())
+                    .password(u.getPassword())
+                    .system(Boolean.TRUE.equals(u.getSystem()))
+                    .tokenVersion(u.getTokenVersion())
+                    .enabled(true)
+                    .accountNonExpired(true)
+                    .accountNonLocked(true)
+                    .credentialsNonExpired(true)
+                    .userRole(t.getT1().orElse(null))
+                    .authorities(t.getT2())
+                    .build());
+        });
+    }
+}
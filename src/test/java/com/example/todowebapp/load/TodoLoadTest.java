@@ -0,0 +1,308 @@
+package com.example.todowebapp.load;
+
+import com.example.todowebapp.domain.dto.IdDTO;
+import com.example.todowebapp.domain.dto.LoginData;
+import com.example.todowebapp.domain.dto.LoginResponseDTO;
+import com.example.todowebapp.domain.dto.RegisterData;
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.enumerated.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open-model load test against the real WebFlux stack on the H2 test profile.
+ * Registers {@code load.users} users, then issues requests at a fixed arrival rate regardless of how fast
+ * responses come back, picking the endpoint from {@code load.mix}. Latency is measured from the intended
+ * send time, so queueing in the client is not hidden (no coordinated omission).
+ * <p>
+ * Excluded from the default build; run with
+ * {@code mvn test -Dtest.excludedGroups= -Dgroups=load -Dload.rate=200 -Dload.duration=PT30S}.
+ * Results are written to {@code load.output} as JSON.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Todo API load test")
+class TodoLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 20);
+    private static final int RATE = Integer.getInteger("load.rate", 200);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final String MIX = System.getProperty("load.mix", "login:5,list:50,create:20,update:15,delete:10");
+    private static final String OUTPUT = System.getProperty("load.output", "target/load-test-result.json");
+    private static final String PASSWORD = "loadtest123";
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @LocalServerPort
+    private int port;
+
+    private WebClient client;
+
+    @Test
+    @DisplayName("Drives the configured request mix at a fixed arrival rate and reports latency percentiles")
+    void run() throws Exception {
+        client = WebClient.builder().baseUrl("http://localhost:" + port + "/api").build();
+        final List<Operation> mix = parseMix(MIX);
+        final List<LoadUser> users = Flux.range(0, USERS)
+                .flatMap(this::registerAndLogin, 4)
+                .collectList()
+                .block();
+        assertThat(users).hasSize(USERS);
+
+        // warmup results are discarded
+        drive(mix, users, WARMUP, newStats(mix));
+        final Map<String, EndpointStats> stats = newStats(mix);
+        final long started = System.nanoTime();
+        drive(mix, users, DURATION, stats);
+        final double seconds = (System.nanoTime() - started) / 1e9;
+
+        final Map<String, Object> report = report(stats, seconds);
+        final File output = new File(OUTPUT);
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+
+        final long succeeded = stats.values().stream().mapToLong(s -> s.histogram.getTotalCount()).sum();
+        assertThat(succeeded).as("successful requests").isPositive();
+    }
+
+    /**
+     * Schedules one request every 1/rate seconds; requests are not awaited before the next is sent.
+     */
+    private void drive(List<Operation> mix, List<LoadUser> users, Duration duration, Map<String, EndpointStats> stats) {
+        final long periodNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        final long total = duration.toNanos() / periodNanos;
+        final long start = System.nanoTime();
+
+        Flux.interval(Duration.ofNanos(periodNanos), Schedulers.parallel())
+                .take(total)
+                .flatMap(tick -> {
+                    final long intended = start + (tick + 1) * periodNanos;
+                    final LoadUser user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+                    final Request request = request(pick(mix).name(), user);
+                    final EndpointStats endpoint = stats.get(request.endpoint());
+                    return request.call()
+                            .doOnSuccess(v -> endpoint.histogram.recordValue(
+                                    Math.min(System.nanoTime() - intended, HIGHEST_TRACKABLE_NANOS)))
+                            .onErrorResume(e -> {
+                                endpoint.errors.incrementAndGet();
+                                return Mono.empty();
+                            });
+                }, Integer.MAX_VALUE)
+                .blockLast();
+    }
+
+    /**
+     * Resolves the operation against the user's todos; an update or delete with none left creates one instead,
+     * and is reported as a create.
+     */
+    private Request request(String operation, LoadUser user) {
+        return switch (operation) {
+            case "login" -> new Request(operation, login(user.email).then());
+            case "list" -> new Request(operation, authorized(client.get().uri("/todos"), user)
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<List<TodoDTO>>() {
+                    })
+                    .then());
+            case "create" -> new Request(operation, authorized(client.post().uri("/todo/create"), user)
+                    .bodyValue(newTodo())
+                    .retrieve()
+                    .bodyToMono(TodoDTO.class)
+                    .doOnNext(todo -> user.todoIds.add(todo.getId()))
+                    .then());
+            case "update" -> {
+                final Long id = user.todoIds.peekLast();
+                if (id == null) {
+                    yield request("create", user);
+                }
+                final TodoDTO todo = newTodo();
+                todo.setId(id);
+                todo.setCheckMark(true);
+                // a concurrent delete of the same todo surfaces as an error, which is counted
+                yield new Request(operation, authorized(client.put().uri("/todo/update"), user)
+                        .bodyValue(todo)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .then());
+            }
+            case "delete" -> {
+                final Long id = user.todoIds.pollFirst();
+                if (id == null) {
+                    yield request("create", user);
+                }
+                yield new Request(operation, authorized(client.method(HttpMethod.DELETE).uri("/todo/delete"), user)
+                        .bodyValue(new IdDTO(Set.of(id)))
+                        .retrieve()
+                        .toBodilessEntity()
+                        .then());
+            }
+            default -> throw new IllegalArgumentException("Unknown operation " + operation);
+        };
+    }
+
+    private Mono<LoadUser> registerAndLogin(int index) {
+        final String email = "load-" + index + "-" + System.nanoTime() + "@example.com";
+        final RegisterData register = RegisterData.builder()
+                .firstName("Load")
+                .lastName("User " + index)
+                .email(email)
+                .password(PASSWORD)
+                .userRole(UserRole.ROLE_BASIC_USER)
+                .build();
+        return client.post().uri("/register")
+                .bodyValue(register)
+                .retrieve()
+                .toBodilessEntity()
+                .then(login(email))
+                .map(token -> new LoadUser(email, token));
+    }
+
+    private Mono<String> login(String email) {
+        return client.post().uri("/login")
+                .bodyValue(LoginData.builder().email(email).password(PASSWORD).build())
+                .retrieve()
+                .bodyToMono(LoginResponseDTO.class)
+                .map(LoginResponseDTO::getToken);
+    }
+
+    private static WebClient.RequestBodySpec authorized(WebClient.RequestBodySpec spec, LoadUser user) {
+        return spec.header(HttpHeaders.AUTHORIZATION, "Bearer " + user.token);
+    }
+
+    private static WebClient.RequestHeadersSpec<?> authorized(WebClient.RequestHeadersSpec<?> spec, LoadUser user) {
+        return spec.header(HttpHeaders.AUTHORIZATION, "Bearer " + user.token);
+    }
+
+    private static TodoDTO newTodo() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        return TodoDTO.builder()
+                .description("Load test task " + random.nextInt(1_000_000))
+                .dueDate(LocalDate.now().plusDays(random.nextInt(60)))
+                .build();
+    }
+
+    private static Operation pick(List<Operation> mix) {
+        final int total = mix.get(mix.size() - 1).cumulativeWeight();
+        final int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Operation operation : mix) {
+            if (roll < operation.cumulativeWeight()) {
+                return operation;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private static List<Operation> parseMix(String mix) {
+        final List<Operation> operations = new ArrayList<>();
+        int cumulative = 0;
+        for (String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            final int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                cumulative += weight;
+                operations.add(new Operation(parts[0].trim(), cumulative));
+            }
+        }
+        assertThat(operations).as("load.mix").isNotEmpty();
+        return operations;
+    }
+
+    private static Map<String, EndpointStats> newStats(List<Operation> mix) {
+        final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (Operation operation : mix) {
+            stats.put(operation.name(), new EndpointStats());
+        }
+        // updates and deletes fall back to creates
+        if (stats.containsKey("update") || stats.containsKey("delete")) {
+            stats.putIfAbsent("create", new EndpointStats());
+        }
+        return stats;
+    }
+
+    private static Map<String, Object> report(Map<String, EndpointStats> stats, double seconds) {
+        final Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", USERS);
+        config.put("arrivalRatePerSecond", RATE);
+        config.put("warmup", WARMUP.toString());
+        config.put("duration", DURATION.toString());
+        config.put("mix", MIX);
+
+        final Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((name, endpoint) -> {
+            final Histogram h = endpoint.histogram;
+            final Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", h.getTotalCount());
+            row.put("errors", endpoint.errors.get());
+            row.put("throughputPerSecond", h.getTotalCount() / seconds);
+            row.put("p50Ms", millis(h.getValueAtPercentile(50)));
+            row.put("p99Ms", millis(h.getValueAtPercentile(99)));
+            row.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+            row.put("maxMs", millis(h.getMaxValue()));
+            endpoints.put(name, row);
+        });
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("measuredSeconds", seconds);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private record Operation(String name, int cumulativeWeight) {
+    }
+
+    private record Request(String endpoint, Mono<Void> call) {
+    }
+
+    private static final class LoadUser {
+        private final String email;
+        private final String token;
+        private final ConcurrentLinkedDeque<Long> todoIds = new ConcurrentLinkedDeque<>();
+
+        private LoadUser(String email, String token) {
+            this.email = email;
+            this.token = token;
+        }
+    }
+
+    private static final class EndpointStats {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
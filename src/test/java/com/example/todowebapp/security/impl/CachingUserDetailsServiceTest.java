@@ -0,0 +1,81 @@
+package com.example.todowebapp.security.impl;
+
+import com.example.todowebapp.config.PrincipalCacheProperties;
+import com.example.todowebapp.domain.enumerated.UserRole;
+import com.example.todowebapp.security.AuthenticationUserDetails;
+import com.example.todowebapp.service.InvalidationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Principal cache")
+class CachingUserDetailsServiceTest {
+
+    private static final String EMAIL = "cached@example.com";
+    private static final Long USER_ID = 7L;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final UserDetailsServiceImpl delegate = mock(UserDetailsServiceImpl.class);
+    private final CachingUserDetailsService cache =
+            new CachingUserDetailsService(delegate, new PrincipalCacheProperties(), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Serves repeated lookups from one load and reloads after an eviction by id")
+    void evictsByUserId() {
+        when(delegate.findByUsername(EMAIL)).thenReturn(Mono.just(principal(0)), Mono.just(principal(1)));
+
+        assertThat(version(cache.findByUsername(EMAIL))).isZero();
+        assertThat(version(cache.findByUsername(EMAIL))).isZero();
+        cache.onInvalidation(new InvalidationEvent(USER_ID, InvalidationEvent.Entity.USER, 1));
+
+        assertThat(version(cache.findByUsername(EMAIL))).isEqualTo(1);
+        verify(delegate, times(2)).findByUsername(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Does not keep a load that was running when the user was evicted")
+    void dropsLoadRacingWithEviction() {
+        final Sinks.One<UserDetails> stale = Sinks.one();
+        when(delegate.findByUsername(EMAIL)).thenReturn(stale.asMono(), Mono.just(principal(1)));
+
+        final CompletableFuture<UserDetails> racing = cache.findByUsername(EMAIL).toFuture();
+        // the role change commits and evicts before the old row comes back
+        cache.evictUser(USER_ID);
+        stale.tryEmitValue(principal(0));
+
+        assertThat(version(Mono.fromFuture(racing))).isZero();
+        assertThat(version(cache.findByUsername(EMAIL))).isEqualTo(1);
+    }
+
+    private static long version(Mono<UserDetails> lookup) {
+        return ((AuthenticationUserDetails) lookup.block(TIMEOUT)).getTokenVersion();
+    }
+
+    private static AuthenticationUserDetails principal(long tokenVersion) {
+        return AuthenticationUserDetails.authBuilder()
+                .username(EMAIL)
+                .password("hash")
+                .enabled(true)
+                .accountNonExpired(true)
+                .credentialsNonExpired(true)
+                .accountNonLocked(true)
+                .authorities(List.of())
+                .userId(USER_ID)
+                .userRole(UserRole.ROLE_BASIC_USER)
+                .tokenVersion(tokenVersion)
+                .build();
+    }
+}
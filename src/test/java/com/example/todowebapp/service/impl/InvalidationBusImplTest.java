@@ -0,0 +1,148 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.InvalidationProperties;
+import com.example.todowebapp.service.InvalidationEvent;
+import com.example.todowebapp.service.InvalidationEvent.Entity;
+import com.example.todowebapp.service.InvalidationListener;
+import com.example.todowebapp.service.InvalidationTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two buses on one in-memory transport stand in for two instances sharing a database.
+ */
+@DisplayName("Invalidation bus")
+class InvalidationBusImplTest {
+
+    private final InMemoryInvalidationTransport transport = new InMemoryInvalidationTransport();
+    private final RecordingListener listenerA = new RecordingListener();
+    private final RecordingListener listenerB = new RecordingListener();
+    private InvalidationBusImpl busA;
+    private InvalidationBusImpl busB;
+
+    @BeforeEach
+    void setUp() {
+        final InvalidationProperties properties = new InvalidationProperties();
+        properties.setTransport("in-memory");
+        properties.setCoalesceWindow(Duration.ofMillis(100));
+        properties.setReconnectMinBackoff(Duration.ofMillis(10));
+        properties.setReconnectMaxBackoff(Duration.ofMillis(50));
+        busA = bus(listenerA, properties);
+        busB = bus(listenerB, properties);
+        busA.start();
+        busB.start();
+        await(() -> listenerA.flushes.get() == 1 && listenerB.flushes.get() == 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        busA.stop();
+        busB.stop();
+    }
+
+    @Test
+    @DisplayName("Events reach the other instances but not their origin")
+    void deliversToOtherInstances() throws InterruptedException {
+        busA.publish(new InvalidationEvent(7L, Entity.USER, 3)).block();
+
+        await(() -> !listenerB.events.isEmpty());
+        assertThat(listenerB.events).containsExactly(new InvalidationEvent(7L, Entity.USER, 3));
+        Thread.sleep(200);
+        assertThat(listenerA.events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A burst for the same user is applied once with the latest version")
+    void coalescesBursts() throws InterruptedException {
+        Flux.range(1, 20)
+                .concatMap(v -> busA.publish(new InvalidationEvent(7L, Entity.TODOS, v)))
+                .then(busA.publish(new InvalidationEvent(8L, Entity.TODOS, 1)))
+                .block();
+
+        await(() -> listenerB.events.size() >= 2);
+        Thread.sleep(200);
+        assertThat(listenerB.events).containsExactly(
+                new InvalidationEvent(7L, Entity.TODOS, 20),
+                new InvalidationEvent(8L, Entity.TODOS, 1));
+    }
+
+    @Test
+    @DisplayName("A registered email survives coalescing and colons in the address")
+    void carriesRegisteredEmail() {
+        busA.publish(new InvalidationEvent(7L, Entity.USER, 0, "a:b@example.com"))
+                .then(busA.publish(new InvalidationEvent(7L, Entity.USER, 2)))
+                .block();
+
+        await(() -> !listenerB.events.isEmpty());
+        assertThat(listenerB.events).containsExactly(new InvalidationEvent(7L, Entity.USER, 2, "a:b@example.com"));
+    }
+
+    @Test
+    @DisplayName("Reconnecting after a dropped connection flushes everything")
+    void flushesAfterReconnect() {
+        transport.disconnect();
+
+        await(() -> listenerA.flushes.get() == 2 && listenerB.flushes.get() == 2);
+        busA.publish(new InvalidationEvent(7L, Entity.USER, 1)).block();
+        await(() -> !listenerB.events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Malformed payloads are ignored")
+    void ignoresMalformedPayloads() {
+        transport.send("garbage").block();
+        busA.publish(new InvalidationEvent(9L, Entity.USER, 1)).block();
+
+        await(() -> !listenerB.events.isEmpty());
+        assertThat(listenerB.events).containsExactly(new InvalidationEvent(9L, Entity.USER, 1));
+    }
+
+    private InvalidationBusImpl bus(InvalidationListener listener, InvalidationProperties properties) {
+        final DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("transport", transport);
+        beans.registerSingleton("listener", listener);
+        return new InvalidationBusImpl(beans.getBeanProvider(InvalidationTransport.class),
+                beans.getBeanProvider(InvalidationListener.class), properties, new SimpleMeterRegistry());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class RecordingListener implements InvalidationListener {
+        private final List<InvalidationEvent> events = new CopyOnWriteArrayList<>();
+        private final AtomicInteger flushes = new AtomicInteger();
+
+        @Override
+        public void onInvalidation(InvalidationEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onFlush() {
+            flushes.incrementAndGet();
+        }
+    }
+}
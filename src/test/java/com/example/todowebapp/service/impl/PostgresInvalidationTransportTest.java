@@ -0,0 +1,205 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.InvalidationProperties;
+import com.example.todowebapp.service.InvalidationEvent;
+import com.example.todowebapp.service.InvalidationListener;
+import com.example.todowebapp.service.InvalidationTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * LISTEN/NOTIFY against a real Postgres: delivery follows the sending transaction, liveness probes stay internal,
+ * and a dropped listening connection is re-established with a flush of the local caches. Skipped where Docker
+ * is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Postgres invalidation transport")
+class PostgresInvalidationTransportTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final InvalidationProperties properties = new InvalidationProperties();
+    private R2dbcProperties r2dbc;
+    private ConnectionFactory connectionFactory;
+    private DatabaseClient client;
+    private InvalidationTransport transport;
+    private Disposable listening;
+
+    @BeforeEach
+    void setUp() {
+        r2dbc = new R2dbcProperties();
+        r2dbc.setUrl("r2dbc:postgresql://%s:%d/%s".formatted(
+                POSTGRES.getHost(), POSTGRES.getFirstMappedPort(), POSTGRES.getDatabaseName()));
+        r2dbc.setUsername(POSTGRES.getUsername());
+        r2dbc.setPassword(POSTGRES.getPassword());
+        connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(r2dbc.getUrl())
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, r2dbc.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, r2dbc.getPassword())
+                .build());
+        client = DatabaseClient.create(connectionFactory);
+        properties.setReconnectMinBackoff(Duration.ofMillis(100));
+        properties.setReconnectMaxBackoff(Duration.ofMillis(500));
+        transport = new PostgresInvalidationTransport(client, r2dbc, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (listening != null) {
+            listening.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Delivers a notification only once the sending transaction commits")
+    void deliversOnCommit() throws InterruptedException {
+        final BlockingQueue<String> received = listen();
+        final TransactionalOperator transaction = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+
+        transport.send("committed")
+                .then(Mono.delay(Duration.ofMillis(300)))
+                .doOnNext(tick -> assertThat(received).as("delivered before commit").isEmpty())
+                .as(transaction::transactional)
+                .block(Duration.ofSeconds(TIMEOUT_SECONDS));
+
+        assertThat(received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("committed");
+    }
+
+    @Test
+    @DisplayName("Drops the notification of a rolled back transaction")
+    void dropsOnRollback() throws InterruptedException {
+        final BlockingQueue<String> received = listen();
+        final TransactionalOperator transaction = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+
+        assertThatThrownBy(() -> transport.send("rolled-back")
+                .then(Mono.error(new IllegalStateException("rollback")))
+                .as(transaction::transactional)
+                .block(Duration.ofSeconds(TIMEOUT_SECONDS)))
+                .hasMessageContaining("rollback");
+        transport.send("after").block(Duration.ofSeconds(TIMEOUT_SECONDS));
+
+        // notifications arrive in commit order, so the rolled back one would have come first
+        assertThat(received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("after");
+    }
+
+    @Test
+    @DisplayName("Keeps a quiet connection listening through its own probes without delivering them")
+    void probesQuietConnection() throws InterruptedException {
+        properties.setLivenessInterval(Duration.ofMillis(100));
+        properties.setLivenessTimeout(Duration.ofMillis(200));
+        transport = new PostgresInvalidationTransport(client, r2dbc, properties);
+        final AtomicInteger listens = new AtomicInteger();
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        listening = transport.listen(listens::incrementAndGet).subscribe(received::add);
+
+        // several timeouts long; a listen failing for lack of probes would have ended the subscription
+        Thread.sleep(1_000);
+        assertThat(received).isEmpty();
+        assertThat(listening.isDisposed()).isFalse();
+        assertThat(listens).hasValue(1);
+
+        transport.send("after").block(Duration.ofSeconds(TIMEOUT_SECONDS));
+        assertThat(received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("after");
+    }
+
+    @Test
+    @DisplayName("Flushes local caches and keeps delivering after the listening connection drops")
+    void flushesOnReconnect() throws InterruptedException {
+        final AtomicInteger flushes = new AtomicInteger();
+        final List<InvalidationEvent> events = new CopyOnWriteArrayList<>();
+        final InvalidationListener listener = new InvalidationListener() {
+            @Override
+            public void onInvalidation(InvalidationEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public void onFlush() {
+                flushes.incrementAndGet();
+            }
+        };
+        final InvalidationBusImpl bus = new InvalidationBusImpl(provider(transport), listeners(listener),
+                properties, new SimpleMeterRegistry());
+        bus.start();
+        try {
+            awaitCondition(() -> flushes.get() == 1);
+
+            client.sql("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE query = :listen")
+                    .bind("listen", "LISTEN " + properties.getChannel())
+                    .then()
+                    .block(Duration.ofSeconds(TIMEOUT_SECONDS));
+            awaitCondition(() -> flushes.get() == 2);
+
+            final InvalidationEvent event = new InvalidationEvent(7L, InvalidationEvent.Entity.TODOS, 3L);
+            transport.send(event.encode("other-node")).block(Duration.ofSeconds(TIMEOUT_SECONDS));
+            awaitCondition(() -> events.contains(event));
+        } finally {
+            bus.stop();
+        }
+    }
+
+    private BlockingQueue<String> listen() throws InterruptedException {
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        final CountDownLatch ready = new CountDownLatch(1);
+        listening = transport.listen(ready::countDown).subscribe(received::add);
+        assertThat(ready.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).as("listening").isTrue();
+        return received;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met in time").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<InvalidationTransport> provider(InvalidationTransport transport) {
+        final ObjectProvider<InvalidationTransport> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(transport);
+        return provider;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<InvalidationListener> listeners(InvalidationListener listener) {
+        final ObjectProvider<InvalidationListener> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(listener));
+        return provider;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.TodoEventsProperties;
+import com.example.todowebapp.domain.dto.TodoChangeEventDTO;
+import com.example.todowebapp.domain.dto.TodoDTO;
+import com.example.todowebapp.domain.enumerated.TodoChangeType;
+import com.example.todowebapp.service.TodoChangeNotifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Todo change feed")
+class TodoEventServiceImplTest {
+
+    private static final Long USER_ID = 7L;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final TodoChangeNotifier notifier = mock(TodoChangeNotifier.class);
+    private final TodoEventsProperties properties = new TodoEventsProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    TodoEventServiceImplTest() {
+        // no transaction here, the event goes out as soon as it is published
+        when(notifier.afterCommit(any())).thenAnswer(invocation -> Mono.fromRunnable(invocation.getArgument(0)));
+        properties.setHeartbeat(Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Sends a heartbeat as soon as a client subscribes")
+    void heartbeatOnSubscribe() {
+        final TodoEventServiceImpl service = service();
+
+        StepVerifier.create(service.subscribe(USER_ID, null))
+                .assertNext(event -> assertThat(event.comment()).isEqualTo("heartbeat"))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Replays the events after Last-Event-ID from the ring and resyncs unknown ids")
+    void resumesFromLastEventId() {
+        final TodoEventServiceImpl service = service();
+        final List<String> ids = new ArrayList<>();
+        StepVerifier.create(changes(service.subscribe(USER_ID, null)))
+                .then(() -> {
+                    publish(service, 1L);
+                    publish(service, 2L);
+                    publish(service, 3L);
+                })
+                .recordWith(ArrayList::new)
+                .expectNextCount(3)
+                .consumeRecordedWith(events -> events.forEach(event -> ids.add(event.id())))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        StepVerifier.create(changes(service.subscribe(USER_ID, ids.get(0))))
+                .assertNext(event -> assertThat(event.id()).isEqualTo(ids.get(1)))
+                .assertNext(event -> assertThat(event.data().getTodo().getId()).isEqualTo(3L))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        StepVerifier.create(changes(service.subscribe(USER_ID, "elsewhere-1")))
+                .assertNext(event -> assertThat(event.data().getType()).isEqualTo(TodoChangeType.RESYNC))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Drops the oldest events of a subscriber that does not keep up")
+    void dropsOldestForSlowSubscriber() {
+        properties.setSubscriberBuffer(2);
+        final TodoEventServiceImpl service = service();
+
+        StepVerifier.create(service.subscribe(USER_ID, null), 1)
+                .assertNext(event -> assertThat(event.comment()).isEqualTo("heartbeat"))
+                .then(() -> {
+                    for (long id = 1; id <= 5; id++) {
+                        publish(service, id);
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .assertNext(event -> assertThat(event.data().getTodo().getId()).isEqualTo(4L))
+                .assertNext(event -> assertThat(event.data().getTodo().getId()).isEqualTo(5L))
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        assertThat(meterRegistry.get("todo.events.dropped").counter().count()).isEqualTo(3);
+    }
+
+    private TodoEventServiceImpl service() {
+        return new TodoEventServiceImpl(notifier, properties, meterRegistry);
+    }
+
+    private static void publish(TodoEventServiceImpl service, Long todoId) {
+        service.publish(USER_ID, TodoChangeType.CREATED, TodoDTO.builder().id(todoId).build()).block(TIMEOUT);
+    }
+
+    private static Flux<ServerSentEvent<TodoChangeEventDTO>> changes(Flux<ServerSentEvent<TodoChangeEventDTO>> feed) {
+        return feed.filter(event -> event.comment() == null);
+    }
+}
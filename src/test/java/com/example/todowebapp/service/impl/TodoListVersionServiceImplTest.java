@@ -0,0 +1,48 @@
+package com.example.todowebapp.service.impl;
+
+import com.example.todowebapp.config.TodoListVersionProperties;
+import com.example.todowebapp.repository.UserRepository;
+import com.example.todowebapp.service.InvalidationBus;
+import com.example.todowebapp.service.TodoChangeNotifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Todo list version cache")
+class TodoListVersionServiceImplTest {
+
+    private static final Long USER_ID = 7L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TodoListVersionServiceImpl service = new TodoListVersionServiceImpl(
+            userRepository, mock(TodoChangeNotifier.class), mock(InvalidationBus.class),
+            new TodoListVersionProperties(), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("A read that started before a bump never caches the older version")
+    void readRacingBumpIsNotCached() {
+        final Sinks.One<Long> preBumpRead = Sinks.one();
+        when(userRepository.findTodosVersionById(USER_ID)).thenReturn(preBumpRead.asMono(), Mono.just(2L));
+
+        // the read is in flight when the bump commits and invalidates, and only then returns the old version
+        final CompletableFuture<Long> racing = service.currentVersion(USER_ID).toFuture();
+        service.onTodosChanged(USER_ID);
+        preBumpRead.tryEmitValue(1L);
+
+        assertThat(racing.join()).isEqualTo(1L);
+        assertThat(service.currentVersion(USER_ID).block(Duration.ofSeconds(1))).isEqualTo(2L);
+        assertThat(service.currentVersion(USER_ID).block(Duration.ofSeconds(1))).isEqualTo(2L);
+        verify(userRepository, times(2)).findTodosVersionById(USER_ID);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.todowebapp.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SingleFlight")
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Concurrent callers of the same key share one load")
+    void coalescesConcurrentLoads() {
+        final Sinks.One<String> result = Sinks.one();
+        final Mono<String> first = flights.execute("a", () -> load(result.asMono()));
+        final Mono<String> second = flights.execute("a", () -> load(Mono.just("other")));
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> result.tryEmitValue("value"))
+                .assertNext(t -> assertThat(t.getT1()).isEqualTo("value").isEqualTo(t.getT2()))
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+        assertThat(flights.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Errors reach every subscriber and are not kept for later callers")
+    void propagatesErrorsWithoutCachingThem() {
+        final Sinks.One<String> result = Sinks.one();
+        final Mono<String> first = flights.execute("a", () -> load(result.asMono()));
+        final Mono<String> second = flights.execute("a", () -> load(Mono.just("other")));
+
+        StepVerifier.create(Mono.zipDelayError(first.onErrorReturn("failed"), second.onErrorReturn("failed")))
+                .then(() -> result.tryEmitError(new IllegalStateException("boom")))
+                .assertNext(t -> assertThat(t.getT1()).isEqualTo("failed").isEqualTo(t.getT2()))
+                .verifyComplete();
+
+        StepVerifier.create(flights.execute("a", () -> load(Mono.just("retried"))))
+                .expectNext("retried")
+                .verifyComplete();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("The load is cancelled only when its last subscriber cancels")
+    void cancelsLoadWithLastSubscriber() {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final Mono<String> never = Mono.<String>never().doOnCancel(() -> cancelled.set(true));
+
+        final Disposable first = flights.execute("a", () -> load(never)).subscribe();
+        final Disposable second = flights.execute("a", () -> load(never)).subscribe();
+
+        first.dispose();
+        assertThat(cancelled).isFalse();
+        second.dispose();
+        assertThat(cancelled).isTrue();
+        assertThat(flights.inFlight()).isZero();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Forgotten keys start a new load while the old one finishes for its subscribers")
+    void forgetStartsFreshLoad() {
+        final Sinks.One<String> stale = Sinks.one();
+        final Mono<String> before = flights.execute("a", () -> load(stale.asMono()));
+
+        StepVerifier.create(before)
+                .then(() -> {
+                    flights.forget("a"::equals);
+                    StepVerifier.create(flights.execute("a", () -> load(Mono.just("fresh"))))
+                            .expectNext("fresh")
+                            .verifyComplete();
+                    stale.tryEmitValue("stale");
+                })
+                .expectNext("stale")
+                .verifyComplete();
+        assertThat(loads).hasValue(2);
+    }
+
+    private Mono<String> load(Mono<String> source) {
+        loads.incrementAndGet();
+        return source;
+    }
+}
@@ -21,6 +21,8 @@ CREATE TABLE IF NOT EXISTS users (
     last_name VARCHAR(255),
     role_id BIGINT NOT NULL,
     is_system BOOLEAN,
+    token_version BIGINT NOT NULL DEFAULT 0,
+    todos_version BIGINT NOT NULL DEFAULT 0,
     create_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     update_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_users_role FOREIGN KEY (role_id) REFERENCES roles (id)
@@ -33,11 +35,27 @@ CREATE TABLE IF NOT EXISTS todos (
     check_mark BOOLEAN,
     completion_date DATE,
     user_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
+    change_seq BIGINT NOT NULL DEFAULT 0,
     create_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     update_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_todos_user FOREIGN KEY (user_id) REFERENCES users (id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_todos_user_due_date_id ON todos (user_id, due_date, id);
+CREATE INDEX IF NOT EXISTS idx_todos_user_change_seq ON todos (user_id, change_seq);
+
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    todo_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_user_change_seq ON todo_tombstones (user_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_deleted_at ON todo_tombstones (deleted_at);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON users (email);
+
 CREATE TABLE IF NOT EXISTS roles_privileges (
     role_id BIGINT NOT NULL,
     privilege_id BIGINT NOT NULL,